@@ -0,0 +1,65 @@
+package codeyourbrand.javainterview.common.currencyconverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Immutable, date-sorted AED rate history. Dates are held as primitive epoch days and looked up with a binary search,
+ * so a lookup allocates nothing.
+ */
+public final class AedRateHistory {
+    public static final AedRateHistory EMPTY = new AedRateHistory(new int[0], new BigDecimal[0]);
+
+    private final int[] epochDays;
+    private final BigDecimal[] rates;
+
+    private AedRateHistory(int[] epochDays, BigDecimal[] rates) {
+        this.epochDays = epochDays;
+        this.rates = rates;
+    }
+
+    /**
+     * @return the rate valid on the given date, i.e. the latest rate dated on or before it, or {@code null} when the
+     * history starts after the date
+     */
+    public BigDecimal rateAt(LocalDate date) {
+        int index = Arrays.binarySearch(epochDays, (int) date.toEpochDay());
+        if (index >= 0) {
+            return rates[index];
+        }
+        int floor = -index - 2;
+        return floor >= 0 ? rates[floor] : null;
+    }
+
+    public LocalDate lastDate() {
+        return epochDays.length == 0 ? null : LocalDate.ofEpochDay(epochDays[epochDays.length - 1]);
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * Returns a new history extended with the given rates. All dates must be later than {@link #lastDate()} and
+     * sorted ascending, which is how incremental refreshes read them.
+     */
+    public AedRateHistory append(LocalDate[] dates, BigDecimal[] newRates) {
+        if (dates.length == 0) {
+            return this;
+        }
+        int[] mergedDays = Arrays.copyOf(epochDays, epochDays.length + dates.length);
+        BigDecimal[] mergedRates = Arrays.copyOf(rates, rates.length + newRates.length);
+        int previous = epochDays.length == 0 ? Integer.MIN_VALUE : epochDays[epochDays.length - 1];
+        for (int i = 0; i < dates.length; i++) {
+            int epochDay = (int) dates[i].toEpochDay();
+            if (epochDay <= previous) {
+                throw new IllegalArgumentException("AED rates must be appended in ascending date order: " + dates[i]);
+            }
+            mergedDays[epochDays.length + i] = epochDay;
+            mergedRates[rates.length + i] = newRates[i];
+            previous = epochDay;
+        }
+        return new AedRateHistory(mergedDays, mergedRates);
+    }
+}
@@ -0,0 +1,111 @@
+package codeyourbrand.javainterview.common.currencyconverter;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory copy of {@code financial_log.tmp_aed_rates}, keeping the database off the conversion path.
+ * <p>
+ * Each row's {@code rate} is the value of one unit of the quote currency in AED on {@code rate_date}. The history
+ * is loaded once on first use and then extended with newer rows on a fixed schedule; readers always see a complete
+ * immutable snapshot. Corrections of already loaded dates are picked up by {@link #reload()}, which replaces the
+ * whole history on a longer schedule. Refresh and reload run one at a time, so neither publishes a history older than
+ * the one it replaces.
+ */
+@Slf4j
+@Component
+public class AedRateHistoryCache {
+    private static final String SELECT_ALL_RATES_SQL =
+            "SELECT rate_date, rate FROM financial_log.tmp_aed_rates ORDER BY rate_date";
+    private static final String SELECT_NEWER_RATES_SQL =
+            "SELECT rate_date, rate FROM financial_log.tmp_aed_rates WHERE rate_date > ? ORDER BY rate_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Getter
+    private final CurrencyCode quoteCurrency;
+
+    private volatile AedRateHistory history;
+
+    public AedRateHistoryCache(
+            JdbcTemplate jdbcTemplate,
+            @Value("${currency-converter.aed-rate-history.quote-currency:EUR}") CurrencyCode quoteCurrency) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.quoteCurrency = quoteCurrency;
+    }
+
+    public AedRateHistory getHistory() {
+        AedRateHistory current = history;
+        if (current == null) {
+            synchronized (this) {
+                current = history;
+                if (current == null) {
+                    current = loadNewerThan(AedRateHistory.EMPTY);
+                    history = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Appends rates dated after the last loaded one. A failed refresh keeps the current history.
+     */
+    @Scheduled(fixedDelayString = "${currency-converter.aed-rate-history.refresh-interval:PT1H}")
+    public synchronized void refresh() {
+        AedRateHistory current = history;
+        if (current == null) {
+            return;
+        }
+        try {
+            history = loadNewerThan(current);
+        } catch (DataAccessException e) {
+            log.warn("Refreshing AED rate history failed, keeping {} loaded rates", current.size(), e);
+        }
+    }
+
+    /**
+     * Loads the whole history again, replacing rates corrected since they were loaded. A failed reload keeps the
+     * current history.
+     */
+    @Scheduled(fixedDelayString = "${currency-converter.aed-rate-history.reload-interval:P1D}",
+            initialDelayString = "${currency-converter.aed-rate-history.reload-interval:P1D}")
+    public synchronized void reload() {
+        AedRateHistory current = history;
+        if (current == null) {
+            return;
+        }
+        try {
+            history = loadNewerThan(AedRateHistory.EMPTY);
+        } catch (DataAccessException e) {
+            log.warn("Reloading AED rate history failed, keeping {} loaded rates", current.size(), e);
+        }
+    }
+
+    private AedRateHistory loadNewerThan(AedRateHistory base) {
+        List<LocalDate> dates = new ArrayList<>();
+        List<BigDecimal> rates = new ArrayList<>();
+        RowCallbackHandler collect = rs -> {
+            dates.add(rs.getObject("rate_date", LocalDate.class));
+            rates.add(rs.getBigDecimal("rate"));
+        };
+        if (base.lastDate() == null) {
+            jdbcTemplate.query(SELECT_ALL_RATES_SQL, collect);
+        } else {
+            jdbcTemplate.query(SELECT_NEWER_RATES_SQL, collect, base.lastDate());
+        }
+        return base.append(dates.toArray(LocalDate[]::new), rates.toArray(BigDecimal[]::new));
+    }
+}
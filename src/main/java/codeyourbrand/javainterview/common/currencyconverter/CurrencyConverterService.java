@@ -3,23 +3,29 @@ package codeyourbrand.javainterview.common.currencyconverter;
 import codeyourbrand.javainterview.common.model.CurrencyCode;
 import codeyourbrand.javainterview.common.model.Money;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Map;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 public abstract class CurrencyConverterService {
+    private final AedRateHistoryCache aedRateHistoryCache;
+    private volatile ExchangeRateMatrix exchangeRates;
+
+    protected CurrencyConverterService(AedRateHistoryCache aedRateHistoryCache) {
+        this.aedRateHistoryCache = aedRateHistoryCache;
+    }
+
     public BigDecimal convert(CurrencyCode sourceCurrency, CurrencyCode targetCurrency, BigDecimal amount) {
         if (amount == null || sourceCurrency == targetCurrency) {
             return amount;
         }
 
-        Pair<CurrencyCode, CurrencyCode> exchangePair = ImmutablePair.of(sourceCurrency, targetCurrency);
-
-        BigDecimal exchangeRate = getExchangeRates().get(exchangePair);
+        BigDecimal exchangeRate = getExchangeRates().rate(sourceCurrency, targetCurrency);
         return amount.multiply(exchangeRate).setScale(2, RoundingMode.DOWN);
     }
 
@@ -28,5 +34,122 @@ public abstract class CurrencyConverterService {
         return new Money(convertedAmount, targetCurrency);
     }
 
-    protected abstract Map<Pair<CurrencyCode, CurrencyCode>, BigDecimal> getExchangeRates();
+    /**
+     * Converts the money to AED at the rate valid on the given date. Amounts are converted to the quote currency of
+     * the AED rate history at the current rate and then to AED at the historical rate. Dates before the first
+     * historical rate fall back to the current rate.
+     */
+    public Money convertToAed(Money money, LocalDate asOf) {
+        AedRateHistory history = aedRateHistoryCache.getHistory();
+        return convertToAed(money, asOf, history, getExchangeRates());
+    }
+
+    /**
+     * Converts all amounts to AED, each at the rate valid on its date, like {@link #convertToAed(Money, LocalDate)}.
+     * The rate history and the current rates are read once per call.
+     *
+     * @return converted amounts in the order of the input
+     */
+    public List<Money> convertAllToAed(List<Money> amounts, List<LocalDate> asOf) {
+        AedRateHistory history = aedRateHistoryCache.getHistory();
+        ExchangeRateMatrix matrix = getExchangeRates();
+        List<Money> converted = new ArrayList<>(amounts.size());
+        for (int i = 0; i < amounts.size(); i++) {
+            converted.add(convertToAed(amounts.get(i), asOf.get(i), history, matrix));
+        }
+        return converted;
+    }
+
+    private Money convertToAed(Money money, LocalDate asOf, AedRateHistory history, ExchangeRateMatrix matrix) {
+        if (money.getCurrency() == CurrencyCode.AED) {
+            return money;
+        }
+        BigDecimal quoteRate = asOf != null ? history.rateAt(asOf) : null;
+        if (quoteRate == null) {
+            return new Money(money.getAmount().multiply(matrix.rate(money.getCurrency(), CurrencyCode.AED)),
+                    CurrencyCode.AED);
+        }
+        CurrencyCode quoteCurrency = aedRateHistoryCache.getQuoteCurrency();
+        BigDecimal rate = money.getCurrency() == quoteCurrency
+                ? quoteRate
+                : matrix.rate(money.getCurrency(), quoteCurrency).multiply(quoteRate);
+        return new Money(money.getAmount().multiply(rate), CurrencyCode.AED);
+    }
+
+    /**
+     * Converts all amounts to the target currency in one pass. The exchange rate of every source currency is looked
+     * up once per call, no matter how many amounts share it.
+     *
+     * @return converted amounts in the order of the input
+     */
+    public List<Money> convertAll(List<Money> amounts, CurrencyCode targetCurrency) {
+        BigDecimal[] rates = ratesTo(targetCurrency);
+        List<Money> converted = new ArrayList<>(amounts.size());
+        for (Money money : amounts) {
+            converted.add(money.getCurrency() == targetCurrency
+                    ? money
+                    : new Money(money.getAmount().multiply(rates[money.getCurrency().ordinal()]), targetCurrency));
+        }
+        return converted;
+    }
+
+    /**
+     * Converts all amounts to the target currency and returns them as minor units (hundredths), rounded down like
+     * {@link #convert(CurrencyCode, CurrencyCode, BigDecimal)}. No {@link Money} is created for the results.
+     *
+     * @return converted amounts in minor units, in the order of the input
+     * @throws ArithmeticException when a converted amount does not fit into a long
+     */
+    public long[] convertAllToMinorUnits(List<Money> amounts, CurrencyCode targetCurrency) {
+        BigDecimal[] rates = ratesTo(targetCurrency);
+        long[] converted = new long[amounts.size()];
+        for (int i = 0; i < converted.length; i++) {
+            Money money = amounts.get(i);
+            converted[i] = money.getAmount()
+                    .multiply(rates[money.getCurrency().ordinal()])
+                    .setScale(2, RoundingMode.DOWN)
+                    .unscaledValue()
+                    .longValueExact();
+        }
+        return converted;
+    }
+
+    private BigDecimal[] ratesTo(CurrencyCode targetCurrency) {
+        ExchangeRateMatrix matrix = getExchangeRates();
+        CurrencyCode[] currencies = CurrencyCode.values();
+        BigDecimal[] rates = new BigDecimal[currencies.length];
+        for (CurrencyCode sourceCurrency : currencies) {
+            rates[sourceCurrency.ordinal()] = matrix.rate(sourceCurrency, targetCurrency);
+        }
+        return rates;
+    }
+
+    /**
+     * Reloads the exchange rates and swaps them in atomically. Conversions running concurrently keep using the
+     * previous matrix, so no locking is needed. Rates not loaded yet are left to the first conversion, and a failed
+     * refresh keeps the current rates.
+     */
+    @Scheduled(fixedDelayString = "${currency-converter.exchange-rates.refresh-interval:PT1H}")
+    public synchronized void refreshExchangeRates() {
+        if (exchangeRates == null) {
+            return;
+        }
+        try {
+            exchangeRates = loadExchangeRates();
+            log.info("Exchange rates refreshed");
+        } catch (RuntimeException e) {
+            log.warn("Refreshing exchange rates failed, keeping the current rates", e);
+        }
+    }
+
+    protected ExchangeRateMatrix getExchangeRates() {
+        ExchangeRateMatrix current = exchangeRates;
+        if (current == null) {
+            current = loadExchangeRates();
+            exchangeRates = current;
+        }
+        return current;
+    }
+
+    protected abstract ExchangeRateMatrix loadExchangeRates();
 }
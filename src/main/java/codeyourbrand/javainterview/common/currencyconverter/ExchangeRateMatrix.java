@@ -0,0 +1,112 @@
+package codeyourbrand.javainterview.common.currencyconverter;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable table of exchange rates indexed by {@link CurrencyCode#ordinal()}.
+ * <p>
+ * Every pair is resolved when the matrix is built: rates given in one direction only are inverted, and pairs still
+ * missing are triangulated through the base currency. A lookup is therefore a single array read that never fails
+ * for a complete matrix, and a matrix that cannot be completed is rejected at build time.
+ */
+public final class ExchangeRateMatrix {
+    private static final CurrencyCode[] CURRENCIES = CurrencyCode.values();
+    private static final int SIZE = CURRENCIES.length;
+    private static final int INVERSE_RATE_SCALE = 5;
+
+    private final BigDecimal[] rates;
+
+    private ExchangeRateMatrix(BigDecimal[] rates) {
+        this.rates = rates;
+    }
+
+    public static Builder builder(CurrencyCode baseCurrency) {
+        return new Builder(baseCurrency);
+    }
+
+    public BigDecimal rate(CurrencyCode sourceCurrency, CurrencyCode targetCurrency) {
+        return rates[index(sourceCurrency, targetCurrency)];
+    }
+
+    private static int index(CurrencyCode sourceCurrency, CurrencyCode targetCurrency) {
+        return sourceCurrency.ordinal() * SIZE + targetCurrency.ordinal();
+    }
+
+    public static final class Builder {
+        private final CurrencyCode baseCurrency;
+        private final BigDecimal[] rates = new BigDecimal[SIZE * SIZE];
+
+        private Builder(CurrencyCode baseCurrency) {
+            this.baseCurrency = requireNonNull(baseCurrency, "baseCurrency");
+        }
+
+        public Builder rate(CurrencyCode sourceCurrency, CurrencyCode targetCurrency, BigDecimal rate) {
+            if (requireNonNull(rate, "rate").signum() <= 0) {
+                throw new IllegalArgumentException(
+                        "Exchange rate must be positive: " + sourceCurrency + "->" + targetCurrency);
+            }
+            rates[index(sourceCurrency, targetCurrency)] = rate;
+            return this;
+        }
+
+        public Builder rate(CurrencyCode sourceCurrency, CurrencyCode targetCurrency, double rate) {
+            return rate(sourceCurrency, targetCurrency, BigDecimal.valueOf(rate));
+        }
+
+        public ExchangeRateMatrix build() {
+            BigDecimal[] resolved = rates.clone();
+            for (CurrencyCode currency : CURRENCIES) {
+                resolved[index(currency, currency)] = BigDecimal.ONE;
+            }
+            invertMissing(resolved);
+            triangulateMissing(resolved);
+            ensureComplete(resolved);
+            return new ExchangeRateMatrix(resolved);
+        }
+
+        private static void invertMissing(BigDecimal[] resolved) {
+            for (CurrencyCode source : CURRENCIES) {
+                for (CurrencyCode target : CURRENCIES) {
+                    BigDecimal reverse = resolved[index(target, source)];
+                    if (resolved[index(source, target)] == null && reverse != null) {
+                        resolved[index(source, target)] =
+                                BigDecimal.ONE.divide(reverse, INVERSE_RATE_SCALE, RoundingMode.DOWN);
+                    }
+                }
+            }
+        }
+
+        private void triangulateMissing(BigDecimal[] resolved) {
+            for (CurrencyCode source : CURRENCIES) {
+                for (CurrencyCode target : CURRENCIES) {
+                    BigDecimal toBase = resolved[index(source, baseCurrency)];
+                    BigDecimal fromBase = resolved[index(baseCurrency, target)];
+                    if (resolved[index(source, target)] == null && toBase != null && fromBase != null) {
+                        resolved[index(source, target)] = toBase.multiply(fromBase);
+                    }
+                }
+            }
+        }
+
+        private static void ensureComplete(BigDecimal[] resolved) {
+            List<String> missing = new ArrayList<>();
+            for (CurrencyCode source : CURRENCIES) {
+                for (CurrencyCode target : CURRENCIES) {
+                    if (resolved[index(source, target)] == null) {
+                        missing.add(source + "->" + target);
+                    }
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Missing exchange rates: " + missing);
+            }
+        }
+    }
+}
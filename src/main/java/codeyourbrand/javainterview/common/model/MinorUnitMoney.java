@@ -0,0 +1,92 @@
+package codeyourbrand.javainterview.common.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Money as a whole number of minor units (hundredths), the compact counterpart of {@link Money} for arithmetic on
+ * many amounts. Adding, subtracting and negating work on a {@code long} without allocating any {@link BigDecimal}
+ * and throw {@link ArithmeticException} on overflow instead of wrapping around.
+ * <p>
+ * {@link Money} always has two decimal places, so converting in either direction is lossless.
+ */
+public record MinorUnitMoney(long minorUnits, CurrencyCode currency) implements Comparable<MinorUnitMoney> {
+    public static final int SCALE = 2;
+
+    public MinorUnitMoney {
+        requireNonNull(currency, "currency");
+    }
+
+    public static MinorUnitMoney of(Money money) {
+        return new MinorUnitMoney(toMinorUnits(money.getAmount()), money.getCurrency());
+    }
+
+    public static MinorUnitMoney zero(CurrencyCode currency) {
+        return new MinorUnitMoney(0, currency);
+    }
+
+    /**
+     * @return the amount in minor units, with further decimal places rounded down like {@link Money} does
+     * @throws ArithmeticException when the amount does not fit into a long
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        BigDecimal rounded = amount.scale() > SCALE ? amount.setScale(SCALE, RoundingMode.DOWN) : amount;
+        // unlike unscaledValue(), the shifted BigDecimal does not escape and its allocation can be eliminated
+        return rounded.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toAmount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money toMoney() {
+        return new Money(toAmount(), currency);
+    }
+
+    public BigDecimal toAmount() {
+        return toAmount(minorUnits);
+    }
+
+    public MinorUnitMoney add(MinorUnitMoney other) {
+        requireSameCurrency(other, "Cannot add money with different currencies");
+        return new MinorUnitMoney(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public MinorUnitMoney subtract(MinorUnitMoney other) {
+        requireSameCurrency(other, "Cannot subtract money with different currencies");
+        return new MinorUnitMoney(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public MinorUnitMoney multiply(long multiplier) {
+        return new MinorUnitMoney(Math.multiplyExact(minorUnits, multiplier), currency);
+    }
+
+    /**
+     * Multiplies by a decimal factor, such as an exchange rate, rounding down like {@link Money#multiply(BigDecimal)}.
+     */
+    public MinorUnitMoney multiply(BigDecimal multiplier) {
+        return new MinorUnitMoney(toMinorUnits(toAmount().multiply(multiplier)), currency);
+    }
+
+    public MinorUnitMoney negate() {
+        return new MinorUnitMoney(Math.negateExact(minorUnits), currency);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public int compareTo(MinorUnitMoney other) {
+        requireSameCurrency(other, "Cannot compare money with different currencies");
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    private void requireSameCurrency(MinorUnitMoney other, String message) {
+        if (currency != other.currency) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package codeyourbrand.javainterview.common.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the array operators Postgres serves from a GIN index. The function forms, like {@code arrayoverlap},
+ * are never matched to an index. The names differ from Hibernate's own array functions, which reject attributes
+ * mapped through a converter, like the tag id arrays.
+ */
+public class ArrayFunctionContributor implements FunctionContributor {
+    /**
+     * {@code gin_array_overlaps(column, array)} renders as {@code column && array}.
+     */
+    public static final String ARRAY_OVERLAPS = "gin_array_overlaps";
+
+    /**
+     * {@code gin_array_contains_all(column, array)} renders as {@code column @> array}.
+     */
+    public static final String ARRAY_CONTAINS_ALL = "gin_array_contains_all";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType =
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        functionContributions.getFunctionRegistry().registerPattern(ARRAY_OVERLAPS, "(?1 && ?2)", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern(ARRAY_CONTAINS_ALL, "(?1 @> ?2)", booleanType);
+    }
+}
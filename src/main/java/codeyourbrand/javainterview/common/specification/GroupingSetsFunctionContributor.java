@@ -0,0 +1,58 @@
+package codeyourbrand.javainterview.common.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the {@code GROUP BY GROUPING SETS} construct, which HQL and the criteria API lack, so one criteria query
+ * can compute several groupings and their subtotals in a single scan.
+ */
+public class GroupingSetsFunctionContributor implements FunctionContributor {
+    /**
+     * {@code grouping_sets(set, ...)} renders as {@code grouping sets(set, ...)}. Only valid as the GROUP BY
+     * expression.
+     */
+    public static final String GROUPING_SETS = "grouping_sets";
+
+    /**
+     * {@code grouping_set(column, ...)} renders as {@code (column, ...)}, with no columns as the grand total
+     * {@code ()}.
+     */
+    public static final String GROUPING_SET = "grouping_set";
+
+    /**
+     * {@code grouping_mask(column, ...)} renders as {@code grouping(column, ...)}: an integer with one bit per column,
+     * the first column being the most significant, set when the column is not grouped in the row.
+     */
+    public static final String GROUPING_MASK = "grouping_mask";
+
+    /**
+     * {@code month_start(date)} renders as the first day of the date's month, as a date.
+     */
+    public static final String MONTH_START = "month_start";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry()
+                .namedDescriptorBuilder(GROUPING_SETS, "grouping sets")
+                .setMinArgumentCount(1)
+                .register();
+        functionContributions.getFunctionRegistry()
+                .namedDescriptorBuilder(GROUPING_SET, "")
+                .setUseParenthesesWhenNoArgs(true)
+                .register();
+        functionContributions.getFunctionRegistry()
+                .namedDescriptorBuilder(GROUPING_MASK, "grouping")
+                .setMinArgumentCount(1)
+                .setInvariantType(types.resolve(StandardBasicTypes.INTEGER))
+                .register();
+        functionContributions.getFunctionRegistry()
+                .registerPattern(
+                        MONTH_START,
+                        "cast(date_trunc('month', ?1) as date)",
+                        types.resolve(StandardBasicTypes.LOCAL_DATE));
+    }
+}
@@ -1,15 +1,17 @@
 package codeyourbrand.javainterview.common.specification;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-
-import java.util.Collection;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 
 public class PredicateBuilder {
+    private static final String LIKE_ESCAPE = "\\";
+
     private PredicateBuilder() {}
 
     @Getter
@@ -117,23 +119,101 @@ public class PredicateBuilder {
                 : null;
     }
 
+    /**
+     * Matches rows whose lower-cased column starts with the value. Wildcards in the value are escaped and the column
+     * is compared byte-wise, so the pattern keeps a literal prefix served by an index on {@link #lowerBytewise}.
+     */
+    public static <T> Predicate startsWithIgnoreCase(String value, String columnValue, CriteriaData<T> criteria) {
+        if (value == null) {
+            return null;
+        }
+        CriteriaBuilder cb = criteria.getCriteriaBuilder();
+        String prefix = value.toLowerCase()
+                .replace(LIKE_ESCAPE, LIKE_ESCAPE + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+        return cb.like(lowerBytewise(columnValue, criteria), prefix + "%", LIKE_ESCAPE.charAt(0));
+    }
+
+    /**
+     * Lower-cased column in the {@code "C"} collation, whose order is the byte order.
+     */
+    public static <T> Expression<String> lowerBytewise(String columnValue, CriteriaData<T> criteria) {
+        return criteria.getCriteriaBuilder().function(
+                TextSearchFunctionContributor.LOWER_BYTEWISE, String.class, criteria.getRoot().get(columnValue));
+    }
+
+    /**
+     * Matches rows whose lower-cased column contains a word similar to the value, with the GIN-indexable pg_trgm
+     * {@code <%} operator.
+     */
+    public static <T> Predicate wordSimilarIgnoreCase(String value, String columnValue, CriteriaData<T> criteria) {
+        if (value == null) {
+            return null;
+        }
+        CriteriaBuilder cb = criteria.getCriteriaBuilder();
+        return cb.isTrue(cb.function(
+                TextSearchFunctionContributor.WORD_SIMILAR,
+                Boolean.class,
+                bound(cb, value.toLowerCase()),
+                cb.lower(criteria.getRoot().get(columnValue))));
+    }
+
+    /**
+     * Similarity between the value and the most similar word of the lower-cased column, from 0 to 1.
+     */
+    public static <T> Expression<Double> wordSimilarityIgnoreCase(
+            String value, String columnValue, CriteriaData<T> criteria) {
+        CriteriaBuilder cb = criteria.getCriteriaBuilder();
+        return cb.function(
+                TextSearchFunctionContributor.WORD_SIMILARITY,
+                Double.class,
+                bound(cb, value.toLowerCase()),
+                cb.lower(criteria.getRoot().get(columnValue)));
+    }
+
     public static <T> Predicate isNull(String columnValue, CriteriaData<T> criteria) {
         return criteria.getCriteriaBuilder().isNull(criteria.getRoot().get(columnValue));
     }
 
-    public static <T, V> Predicate oneOfJsonb(Collection<V> values, String columnValue, CriteriaData<T> criteria) {
+    /**
+     * Matches rows whose array column shares at least one element with the values, with a GIN-indexable
+     * {@code &&} check.
+     */
+    public static <T> Predicate overlapsArray(int[] values, String columnValue, CriteriaData<T> criteria) {
+        return values == null || values.length == 0
+                ? null
+                : arrayOperator(ArrayFunctionContributor.ARRAY_OVERLAPS, values, columnValue, criteria);
+    }
+
+    /**
+     * Matches rows whose array column contains all the values, with a GIN-indexable {@code @>} check.
+     */
+    public static <T> Predicate containsAllArray(int[] values, String columnValue, CriteriaData<T> criteria) {
+        return values == null || values.length == 0
+                ? null
+                : arrayOperator(ArrayFunctionContributor.ARRAY_CONTAINS_ALL, values, columnValue, criteria);
+    }
+
+    /**
+     * Matches rows whose array column contains none of the values.
+     */
+    public static <T> Predicate overlapsNoneArray(int[] values, String columnValue, CriteriaData<T> criteria) {
+        Predicate overlaps = overlapsArray(values, columnValue, criteria);
+        return overlaps != null ? criteria.getCriteriaBuilder().not(overlaps) : null;
+    }
+
+    private static <T> Predicate arrayOperator(
+            String function, int[] values, String columnValue, CriteriaData<T> criteria) {
         CriteriaBuilder cb = criteria.getCriteriaBuilder();
-        if (values == null || values.isEmpty()) {
-            return cb.conjunction();
-        }
+        return cb.isTrue(
+                cb.function(function, Boolean.class, criteria.getRoot().get(columnValue), bound(cb, values)));
+    }
 
-        Predicate p = cb.disjunction();
-        for (V v : values) {
-            p = cb.or(
-                    p,
-                    cb.isTrue(cb.function(
-                            "jsonb_exists", Boolean.class, criteria.getRoot().get(columnValue), cb.literal(v))));
-        }
-        return p;
+    /**
+     * Function arguments are bound as parameters, so the statement text does not depend on the values.
+     */
+    private static <V> Expression<V> bound(CriteriaBuilder cb, V value) {
+        return cb instanceof HibernateCriteriaBuilder hibernateCb ? hibernateCb.value(value) : cb.literal(value);
     }
 }
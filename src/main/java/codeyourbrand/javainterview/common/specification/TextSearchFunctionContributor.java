@@ -0,0 +1,39 @@
+package codeyourbrand.javainterview.common.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the text search forms Postgres serves from an index: the pg_trgm word similarity operator, matched by a
+ * {@code gin_trgm_ops} index, and the byte-wise lower-cased text, matched by a B-tree index on the same expression
+ * for prefix {@code LIKE} and ordering regardless of the database collation.
+ */
+public class TextSearchFunctionContributor implements FunctionContributor {
+    /**
+     * {@code trgm_word_similar(value, column)} renders as {@code value <% column}.
+     */
+    public static final String WORD_SIMILAR = "trgm_word_similar";
+
+    /**
+     * {@code trgm_word_similarity(value, column)} renders as {@code word_similarity(value, column)}, between 0 and 1.
+     */
+    public static final String WORD_SIMILARITY = "trgm_word_similarity";
+
+    /**
+     * {@code lower_bytewise(column)} renders as {@code lower(column) COLLATE "C"}.
+     */
+    public static final String LOWER_BYTEWISE = "lower_bytewise";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry()
+                .registerPattern(WORD_SIMILAR, "(?1 <% ?2)", types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry()
+                .registerPattern(WORD_SIMILARITY, "word_similarity(?1, ?2)", types.resolve(StandardBasicTypes.DOUBLE));
+        functionContributions.getFunctionRegistry()
+                .registerPattern(LOWER_BYTEWISE, "(lower(?1) collate \"C\")", types.resolve(StandardBasicTypes.STRING));
+    }
+}
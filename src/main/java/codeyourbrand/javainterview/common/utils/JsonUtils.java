@@ -0,0 +1,64 @@
+package codeyourbrand.javainterview.common.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+/**
+ * Minimal JSON writing helpers for hand-written JSON, such as NDJSON exports, where pulling in a full object mapper
+ * is not wanted.
+ */
+public final class JsonUtils {
+    private JsonUtils() {
+        // Prevent instantiation
+    }
+
+    public static void appendJsonArray(Appendable out, Collection<String> values) {
+        try {
+            out.append('[');
+            boolean first = true;
+            for (String value : values) {
+                if (!first) {
+                    out.append(',');
+                }
+                appendJsonString(out, value);
+                first = false;
+            }
+            out.append(']');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void appendJsonString(Appendable out, String value) {
+        try {
+            if (value == null) {
+                out.append("null");
+                return;
+            }
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> out.append("\\\"");
+                    case '\\' -> out.append("\\\\");
+                    case '\n' -> out.append("\\n");
+                    case '\r' -> out.append("\\r");
+                    case '\t' -> out.append("\\t");
+                    case '\b' -> out.append("\\b");
+                    case '\f' -> out.append("\\f");
+                    default -> {
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                    }
+                }
+            }
+            out.append('"');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,19 +1,26 @@
 package codeyourbrand.javainterview.financiallog.application;
 
-import codeyourbrand.javainterview.common.annotations.MessageListener;
-import codeyourbrand.javainterview.financiallog.infrastructure.persistence.FinancialLogRepository;
+import codeyourbrand.javainterview.financiallog.infrastructure.persistence.FinancialLogHistoryWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * Hands history commands over to the {@link FinancialLogHistoryWriter} once the publishing transaction has committed.
+ * Records are written in batches on the writer's thread, not in a transaction per event.
+ * <p>
+ * Commands must be published within the transaction that made the changes: history of a rolled back change is never
+ * written, and a command published outside a transaction is not handled.
+ */
 @Service
 @RequiredArgsConstructor
 class CreateFinancialLogHistoryCommandHandler {
-    private final FinancialLogRepository financialLogRepository;
+    private final FinancialLogHistoryWriter financialLogHistoryWriter;
 
-    @MessageListener
+    @TransactionalEventListener
     void onCreateFinancialLogHistory(FinancialLogApi.CreateFinancialLogHistory command) {
         if (command.entryUuidToOldSnapshot() != null) {
-            financialLogRepository.createHistory(command.entryUuidToOldSnapshot());
+            financialLogHistoryWriter.enqueue(command.entryUuidToOldSnapshot(), command.occurredAt());
         }
     }
 }
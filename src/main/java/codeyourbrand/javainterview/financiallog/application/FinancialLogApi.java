@@ -1,6 +1,7 @@
 package codeyourbrand.javainterview.financiallog.application;
 
 import codeyourbrand.javainterview.common.messaging.Message;
+import codeyourbrand.javainterview.common.model.CurrencyCode;
 import codeyourbrand.javainterview.common.model.BasePaginatedResponse;
 import codeyourbrand.javainterview.common.model.Money;
 import codeyourbrand.javainterview.common.model.PaginationRequest;
@@ -15,6 +16,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +44,42 @@ public interface FinancialLogApi {
         ACCEPTED
     }
 
+    enum ExportFormat {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * How {@link GetFinancialLogFiltersRequest#getTags()} is matched: entries with at least one of the tags, or
+     * entries with all of them.
+     */
+    enum TagMatch {
+        ANY,
+        ALL
+    }
+
+    /**
+     * How {@link GetFinancialLogFiltersRequest#getName()} is matched, case-insensitively: as a substring, as the
+     * beginning of the name for type-ahead, or as a word similar to one in the name, tolerating typos.
+     */
+    enum NameMatch {
+        CONTAINS,
+        PREFIX,
+        FUZZY
+    }
+
+    /**
+     * Dimension a report can be grouped by. {@code SETTLE_MONTH} groups by the month of the settle date and
+     * {@code CURRENCY} by the original currency of the amount.
+     */
+    enum ReportDimension {
+        CATEGORY,
+        SOURCE,
+        STATUS,
+        SETTLE_MONTH,
+        CURRENCY
+    }
+
     record CreateMultipleFinancialLogs(List<CreateFinancialLogRequest> requests, Instant occurredAt, UUID messageId)
             implements Message {
         public CreateMultipleFinancialLogs(List<CreateFinancialLogRequest> entries) {
@@ -96,6 +134,10 @@ public interface FinancialLogApi {
         }
     }
 
+    record AcceptDraftsResponse(@NonNull List<UUID> acceptedUuids, @NonNull List<UUID> notDraftUuids) {}
+
+    record UpdateFinancialLogEntryRequest(@NonNull UUID uuid, @NonNull UpdateFinancialLogRequest request) {}
+
     record UpdateFinancialLogRequest(
             Category category,
             String name,
@@ -157,10 +199,17 @@ public interface FinancialLogApi {
         private List<FinancialLogListItemResponse> financialLogListItemResponses;
     }
 
+    /**
+     * One window of keyset scrolling. {@code continuationToken} is {@code null} when there are no more entries.
+     */
+    record FinancialLogWindowResponse(
+            @NonNull List<FinancialLogListItemResponse> financialLogListItemResponses, String continuationToken) {}
+
     @EqualsAndHashCode(callSuper = true)
     @Data
     class GetFinancialLogFiltersRequest extends PaginationRequest {
         private String name;
+        private NameMatch nameMatch = NameMatch.CONTAINS;
         private Category category;
         private Status status = Status.ACCEPTED;
         private LocalDate settleDateFrom;
@@ -168,6 +217,12 @@ public interface FinancialLogApi {
         private BigDecimal valueFrom;
         private BigDecimal valueTo;
         private Set<String> tags;
+        private TagMatch tagMatch = TagMatch.ANY;
+
+        /**
+         * Entries having any of these tags are left out.
+         */
+        private Set<String> excludedTags;
 
         @Getter(AccessLevel.NONE)
         private LocalDate createdAtFrom;
@@ -183,6 +238,12 @@ public interface FinancialLogApi {
         private SortBy sortBy = SortBy.SETTLE_DATE;
         private Sort.Direction sortDirection = Sort.Direction.DESC;
 
+        /**
+         * Opaque token returned by the previous scroll call. When absent, scrolling starts from the first entry.
+         * Only used by keyset scrolling, offset paging ignores it.
+         */
+        private String continuationToken;
+
         @Override
         public PageRequest getPageRequest(Sort sort) {
             return PageRequest.of(getPage(), getSize(), sort);
@@ -240,7 +301,44 @@ public interface FinancialLogApi {
     record FinancialLogTagsByCategoryResponse(
             @NonNull Map<Category, List<FinancialLogTagIdAndNameResponse>> tagsByCategory) {}
 
-    record DailySummaryResponse(@NonNull BigDecimal revenue, @NonNull BigDecimal profit, @NonNull Long orders) {}
+    /**
+     * @param ordersRelativeError relative standard error of {@code orders}: 0 when the orders were counted exactly,
+     *     otherwise about 68% of the estimates are within this fraction of the exact count and 95% within twice of it
+     */
+    record DailySummaryResponse(
+            @NonNull BigDecimal revenue, @NonNull BigDecimal profit, @NonNull Long orders, double ordersRelativeError) {}
+
+    /**
+     * Requests the totals of the filtered entries for every grouping, each a set of dimensions. The empty set
+     * requests the grand total.
+     */
+    record FinancialLogReportRequest(
+            @NonNull GetFinancialLogFiltersRequest filters, @NonNull List<Set<ReportDimension>> groupings) {
+        public FinancialLogReportRequest {
+            if (groupings.isEmpty()) {
+                throw new IllegalArgumentException("At least one grouping is required");
+            }
+            groupings = groupings.stream().map(Set::copyOf).distinct().toList();
+        }
+    }
+
+    record FinancialLogReportResponse(@NonNull List<FinancialLogReportRow> rows) {}
+
+    /**
+     * Totals of one group. Dimensions outside {@code grouping} are {@code null}, AED amounts as in
+     * {@link FinancialLogSummaryResponse}.
+     */
+    record FinancialLogReportRow(
+            @NonNull Set<ReportDimension> grouping,
+            Category category,
+            Source source,
+            Status status,
+            YearMonth settleMonth,
+            CurrencyCode currency,
+            @NonNull BigDecimal income,
+            @NonNull BigDecimal cost,
+            @NonNull BigDecimal profit,
+            long count) {}
 
     @Getter
     enum Action {
@@ -42,7 +42,7 @@ final class FinancialLogApiMapper {
     }
 
     static FinancialLogApi.FinancialLogResponse mapToFinancialLogResponseWithHistory(
-            FinancialLogEntry.Snapshot snapshot, List<FinancialLogHistory> history) {
+            FinancialLogEntry.Snapshot snapshot, List<FinancialLogHistory.Snapshot> history) {
         return new FinancialLogApi.FinancialLogResponse(
                 snapshot.uuid(),
                 snapshot.sequenceNumber(),
@@ -60,9 +60,9 @@ final class FinancialLogApiMapper {
                 mapToHistoryResponse(history));
     }
 
-    static List<FinancialLogApi.FinancialLogHistoryResponse> mapToHistoryResponse(List<FinancialLogHistory> snapshots) {
+    static List<FinancialLogApi.FinancialLogHistoryResponse> mapToHistoryResponse(
+            List<FinancialLogHistory.Snapshot> snapshots) {
         return snapshots.stream()
-                .map(FinancialLogHistory::toSnapshot)
                 .map(snapshot -> new FinancialLogApi.FinancialLogHistoryResponse(
                         snapshot.createdBy(),
                         snapshot.financialLogName(),
@@ -89,6 +89,11 @@ final class FinancialLogApiMapper {
         return summary;
     }
 
+    static FinancialLogApi.FinancialLogWindowResponse mapToWindow(FinancialLogRepository.EntryWindow window) {
+        return new FinancialLogApi.FinancialLogWindowResponse(
+                FinancialLogApiMapper.mapToListItems(window.entries()), window.continuationToken());
+    }
+
     private static List<FinancialLogApi.FinancialLogListItemResponse> mapToListItems(List<FinancialLogEntry> entries) {
         return entries.stream()
                 .map(FinancialLogEntry::toSnapshot)
@@ -7,16 +7,22 @@ import codeyourbrand.javainterview.common.utils.CollectionUtils;
 import codeyourbrand.javainterview.financiallog.domain.FinancialLogDomainService;
 import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
 import codeyourbrand.javainterview.financiallog.domain.FinancialLogHistory;
+import codeyourbrand.javainterview.financiallog.domain.exceptions.FinancialLogException;
 import codeyourbrand.javainterview.financiallog.infrastructure.persistence.FinancialLogRepository;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.util.Pair;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @ApplicationService
@@ -46,7 +52,7 @@ public class FinancialLogApplicationService {
     }
 
     public FinancialLogApi.FinancialLogResponse getDetailedByUuid(@NonNull UUID uuid) {
-        Pair<FinancialLogEntry, List<FinancialLogHistory>> byUuidWithHistory =
+        Pair<FinancialLogEntry, List<FinancialLogHistory.Snapshot>> byUuidWithHistory =
                 financialLogRepository.findByUuidWithHistory(uuid);
         return FinancialLogApiMapper.mapToFinancialLogResponseWithHistory(
                 byUuidWithHistory.getFirst().toSnapshot(), byUuidWithHistory.getSecond());
@@ -60,8 +66,8 @@ public class FinancialLogApplicationService {
         FinancialLogEntry oldEntry = financialLogRepository.findByUuid(uuid);
         FinancialLogEntry.Snapshot oldEntrySnapshot = oldEntry.toSnapshot();
 
-        FinancialLogEntry saved = financialLogRepository.save(
-                financialLogDomainService.update(snapshot, oldEntry, request.modificationCause()));
+        FinancialLogEntry saved = financialLogRepository.update(
+                oldEntrySnapshot, financialLogDomainService.update(snapshot, oldEntry, request.modificationCause()));
 
         messagePublisher.publish(new FinancialLogApi.CreateFinancialLogHistory(
                 buildHistorySnapshots(List.of(oldEntrySnapshot), userEmail, request.modificationCause())));
@@ -69,13 +75,59 @@ public class FinancialLogApplicationService {
         return FinancialLogApiMapper.mapToFinancialLogListItemResponse(saved.toSnapshot());
     }
 
+    /**
+     * Updates many entries in one transaction. All entries are loaded with one query, updated in memory and written
+     * with batched statements, and the history of all of them is published as a single command.
+     *
+     * @throws FinancialLogException when an entry is requested more than once or does not exist
+     */
     @Transactional
-    public void createSystemLogs(@NonNull FinancialLogApi.CreateMultipleFinancialLogs command) {
-        List<FinancialLogEntry> logEntries = command.requests().stream()
-                .map(FinancialLogApiMapper::mapRequestToSnapshot)
-                .map(snapshot -> financialLogDomainService.create(snapshot, FinancialLogApi.Source.SYSTEM))
+    public List<FinancialLogApi.FinancialLogListItemResponse> updateAll(
+            @NonNull List<FinancialLogApi.UpdateFinancialLogEntryRequest> requests, @NonNull String userEmail) {
+        Set<UUID> uuids = requests.stream()
+                .map(FinancialLogApi.UpdateFinancialLogEntryRequest::uuid)
+                .collect(Collectors.toSet());
+        if (uuids.size() != requests.size()) {
+            throw FinancialLogException.duplicateEntriesInBulkUpdate();
+        }
+
+        Map<UUID, FinancialLogEntry> entries = financialLogRepository.findAllByUuids(uuids).stream()
+                .collect(Collectors.toMap(FinancialLogEntry::toUuidOnly, Function.identity()));
+        if (entries.size() != uuids.size()) {
+            throw FinancialLogException.entriesNotFound(
+                    uuids.stream().filter(uuid -> !entries.containsKey(uuid)).toList());
+        }
+
+        List<FinancialLogEntry.Snapshot> previous = new ArrayList<>(requests.size());
+        List<FinancialLogEntry> updated = new ArrayList<>(requests.size());
+        Map<UUID, FinancialLogHistory.Snapshot> history = new HashMap<>();
+        for (FinancialLogApi.UpdateFinancialLogEntryRequest item : requests) {
+            FinancialLogEntry entry = entries.get(item.uuid());
+            FinancialLogEntry.Snapshot oldEntrySnapshot = entry.toSnapshot();
+            previous.add(oldEntrySnapshot);
+            updated.add(financialLogDomainService.update(
+                    FinancialLogApiMapper.mapRequestToSnapshot(item.request()),
+                    entry,
+                    item.request().modificationCause()));
+            history.put(item.uuid(), FinancialLogApiMapper.buildHistorySnapshot(
+                    oldEntrySnapshot, userEmail, item.request().modificationCause()));
+        }
+
+        List<FinancialLogEntry> saved = financialLogRepository.updateAll(previous, updated);
+        messagePublisher.publish(new FinancialLogApi.CreateFinancialLogHistory(history));
+
+        return saved.stream()
+                .map(FinancialLogEntry::toSnapshot)
+                .map(FinancialLogApiMapper::mapToFinancialLogListItemResponse)
                 .toList();
-        financialLogRepository.saveAll(logEntries);
+    }
+
+    @Transactional
+    public void createSystemLogs(@NonNull FinancialLogApi.CreateMultipleFinancialLogs command) {
+        List<FinancialLogEntry> logEntries = financialLogDomainService.createAll(
+                CollectionUtils.map(command.requests(), FinancialLogApiMapper::mapRequestToSnapshot),
+                FinancialLogApi.Source.SYSTEM);
+        financialLogRepository.insertAll(logEntries);
     }
 
     public FinancialLogApi.FinancialLogSummaryResponse getSummaryWithPageByCategory(@NonNull FinancialLogApi.GetFinancialLogFiltersRequest filter) {
@@ -83,15 +135,62 @@ public class FinancialLogApplicationService {
         return FinancialLogApiMapper.mapToSummary(financialLogTotals);
     }
 
-    @Transactional
-    public void acceptDrafts(@NonNull List<UUID> uuids, @NonNull String userEmail) {
-        List<FinancialLogEntry> allByUuids = financialLogRepository.findAllByUuids(Set.copyOf(uuids));
-        financialLogRepository.acceptDrafts(uuids);
+    /**
+     * Scrolls through the filtered entries using keyset pagination. Unlike {@link #getSummaryWithPageByCategory} it
+     * neither counts the matching entries nor discards the rows of earlier pages, so deep scrolling stays cheap.
+     */
+    public FinancialLogApi.FinancialLogWindowResponse scroll(@NonNull FinancialLogApi.GetFinancialLogFiltersRequest filter) {
+        FinancialLogRepository.EntryWindow window = financialLogRepository.findWindow(filter);
+        return FinancialLogApiMapper.mapToWindow(window);
+    }
 
-        messagePublisher.publish(new FinancialLogApi.CreateFinancialLogHistory(buildHistorySnapshots(
-                CollectionUtils.map(allByUuids, FinancialLogEntry::toSnapshot),
-                userEmail,
-                FinancialLogApi.Action.DRAFT_ACCEPTED.getValue())));
+    /**
+     * Searches entries by name in the filter's {@link FinancialLogApi.NameMatch} mode and returns them ranked by
+     * relevance: prefix matches in name order, contains and fuzzy matches by similarity. Other filters still apply,
+     * the sorting is ignored and only a single, capped page is returned.
+     */
+    public List<FinancialLogApi.FinancialLogListItemResponse> searchByName(
+            @NonNull FinancialLogApi.GetFinancialLogFiltersRequest filter) {
+        return financialLogRepository.searchByName(filter).stream()
+                .map(FinancialLogEntry::toSnapshot)
+                .map(FinancialLogApiMapper::mapToFinancialLogListItemResponse)
+                .toList();
+    }
+
+    /**
+     * Streams every entry matching the filter to the output in the given format. Rows are read over a forward-only
+     * cursor and written one by one, so memory use does not depend on the number of exported entries.
+     * The output stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public void export(
+            @NonNull FinancialLogApi.GetFinancialLogFiltersRequest filter,
+            @NonNull FinancialLogApi.ExportFormat format,
+            @NonNull OutputStream output) {
+        FinancialLogExportWriter writer = FinancialLogExportWriter.start(format, output);
+        financialLogRepository.forEachExportRow(filter, writer::write);
+        writer.finish();
+    }
+
+    /**
+     * Accepts the given drafts with set-based updates. Entries that are missing or not in DRAFT status are not
+     * changed and are reported in the response.
+     * <p>
+     * Drafts are accepted in chunks, each committed in its own transaction, so only one chunk's rows are locked at a
+     * time. The history of a chunk is published in its transaction and written once it commits. When a chunk fails,
+     * the chunks before it stay accepted and the exception is thrown.
+     */
+    public FinancialLogApi.AcceptDraftsResponse acceptDrafts(@NonNull List<UUID> uuids, @NonNull String userEmail) {
+        Set<UUID> acceptedUuids = financialLogRepository.acceptDrafts(
+                uuids,
+                chunk -> messagePublisher.publish(new FinancialLogApi.CreateFinancialLogHistory(buildHistorySnapshots(
+                        chunk,
+                        userEmail,
+                        FinancialLogApi.Action.DRAFT_ACCEPTED.getValue()))));
+
+        return new FinancialLogApi.AcceptDraftsResponse(
+                List.copyOf(acceptedUuids),
+                uuids.stream().distinct().filter(uuid -> !acceptedUuids.contains(uuid)).toList());
     }
 
     @Transactional
@@ -99,8 +198,18 @@ public class FinancialLogApplicationService {
         financialLogRepository.delete(uuids);
     }
 
+    /**
+     * Archives the entries settled before the given month by detaching their monthly partitions.
+     *
+     * @return names of the detached tables
+     */
+    @Transactional
+    public List<String> archiveEntriesSettledBefore(@NonNull YearMonth month) {
+        return financialLogRepository.detachEntryPartitionsBefore(month);
+    }
+
     public List<FinancialLogApi.FinancialLogHistoryResponse> getHistoryByFinancialLogUuids(@NonNull UUID uuids) {
-        List<FinancialLogHistory> history = financialLogRepository.findHistoriesByFinancialLogUuids(uuids);
+        List<FinancialLogHistory.Snapshot> history = financialLogRepository.findHistoriesByFinancialLogUuids(uuids);
         return FinancialLogApiMapper.mapToHistoryResponse(history);
     }
 
@@ -116,6 +225,16 @@ public class FinancialLogApplicationService {
         return financialLogRepository.getDailySummary(request);
     }
 
+    /**
+     * Builds a pivot of the filtered entries: income, cost, profit and count for every requested grouping of
+     * category, source, status, settle month and currency, including subtotals and the grand total when requested.
+     * All groupings are computed by one query that filters the entries once.
+     */
+    public FinancialLogApi.FinancialLogReportResponse getReport(
+            @NonNull FinancialLogApi.FinancialLogReportRequest request) {
+        return new FinancialLogApi.FinancialLogReportResponse(financialLogRepository.getReport(request));
+    }
+
     private Map<UUID, FinancialLogHistory.Snapshot> buildHistorySnapshots(
             List<FinancialLogEntry.Snapshot> snapshots, String user, String action) {
         return snapshots.stream()
@@ -0,0 +1,167 @@
+package codeyourbrand.javainterview.financiallog.application;
+
+import codeyourbrand.javainterview.common.utils.JsonUtils;
+import codeyourbrand.javainterview.financiallog.infrastructure.persistence.FinancialLogRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes export rows straight to the output stream, one row at a time, in the requested format.
+ */
+final class FinancialLogExportWriter {
+    private static final String[] CSV_HEADER = {
+        "uuid",
+        "sequence_number",
+        "name",
+        "status",
+        "category",
+        "source",
+        "settle_date",
+        "amount",
+        "currency",
+        "aed_amount",
+        "reference_id",
+        "reference_type",
+        "reference_business_id",
+        "tags",
+        "notes",
+        "created_at"
+    };
+    private static final String CSV_TAG_SEPARATOR = ";";
+
+    private final FinancialLogApi.ExportFormat format;
+    private final Writer out;
+
+    private FinancialLogExportWriter(FinancialLogApi.ExportFormat format, OutputStream output) {
+        this.format = format;
+        this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
+    static FinancialLogExportWriter start(FinancialLogApi.ExportFormat format, OutputStream output) {
+        FinancialLogExportWriter writer = new FinancialLogExportWriter(format, output);
+        if (format == FinancialLogApi.ExportFormat.CSV) {
+            writer.writeCsvHeader();
+        }
+        return writer;
+    }
+
+    void write(FinancialLogRepository.ExportRow row) {
+        try {
+            switch (format) {
+                case CSV -> writeCsv(row);
+                case NDJSON -> writeNdjson(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void finish() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsvHeader() {
+        try {
+            out.write(String.join(",", CSV_HEADER));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsv(FinancialLogRepository.ExportRow row) throws IOException {
+        csvValue(row.uuid(), false);
+        csvValue(row.sequenceNumber(), true);
+        csvValue(row.name(), true);
+        csvValue(row.status(), true);
+        csvValue(row.category(), true);
+        csvValue(row.source(), true);
+        csvValue(row.settleDate(), true);
+        csvValue(row.amount() != null ? row.amount().toPlainString() : null, true);
+        csvValue(row.currency(), true);
+        csvValue(row.aedAmount() != null ? row.aedAmount().toPlainString() : null, true);
+        csvValue(row.referenceId(), true);
+        csvValue(row.referenceType(), true);
+        csvValue(row.referenceBusinessId(), true);
+        csvValue(row.tags() != null ? String.join(CSV_TAG_SEPARATOR, row.tags()) : null, true);
+        csvValue(row.notes(), true);
+        csvValue(row.createdAt(), true);
+        out.write('\n');
+    }
+
+    private void csvValue(Object value, boolean separated) throws IOException {
+        if (separated) {
+            out.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private void writeNdjson(FinancialLogRepository.ExportRow row) throws IOException {
+        out.write('{');
+        jsonField("uuid", row.uuid(), false);
+        jsonNumber("sequenceNumber", row.sequenceNumber());
+        jsonField("name", row.name(), true);
+        jsonField("status", row.status(), true);
+        jsonField("category", row.category(), true);
+        jsonField("source", row.source(), true);
+        jsonField("settleDate", row.settleDate(), true);
+        jsonNumber("amount", row.amount() != null ? row.amount().toPlainString() : null);
+        jsonField("currency", row.currency(), true);
+        jsonNumber("aedAmount", row.aedAmount() != null ? row.aedAmount().toPlainString() : null);
+        jsonField("referenceId", row.referenceId(), true);
+        jsonField("referenceType", row.referenceType(), true);
+        jsonField("referenceBusinessId", row.referenceBusinessId(), true);
+        out.write(",\"tags\":");
+        if (row.tags() != null) {
+            JsonUtils.appendJsonArray(out, row.tags());
+        } else {
+            out.write("[]");
+        }
+        jsonField("notes", row.notes(), true);
+        jsonField("createdAt", row.createdAt(), true);
+        out.write("}\n");
+    }
+
+    private void jsonField(String name, Object value, boolean separated) throws IOException {
+        if (separated) {
+            out.write(',');
+        }
+        out.write('"');
+        out.write(name);
+        out.write("\":");
+        JsonUtils.appendJsonString(out, value != null ? value.toString() : null);
+    }
+
+    private void jsonNumber(String name, Object value) throws IOException {
+        out.write(",\"");
+        out.write(name);
+        out.write("\":");
+        out.write(value != null ? value.toString() : "null");
+    }
+}
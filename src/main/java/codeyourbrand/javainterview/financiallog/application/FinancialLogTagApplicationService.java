@@ -0,0 +1,71 @@
+package codeyourbrand.javainterview.financiallog.application;
+
+import codeyourbrand.javainterview.common.annotations.ApplicationService;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogTag;
+import codeyourbrand.javainterview.financiallog.domain.exceptions.FinancialLogTagException;
+import codeyourbrand.javainterview.financiallog.infrastructure.persistence.FinancialLogTagCatalogue;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tag catalogue operations. Reads and the name uniqueness check are answered from the in-memory catalogue, only
+ * the writes themselves reach the database. The catalogue may miss a tag created concurrently or by another instance,
+ * so a violation of the unique name per category constraint is reported the same way.
+ */
+@ApplicationService
+@RequiredArgsConstructor
+public class FinancialLogTagApplicationService {
+    private final FinancialLogTagCatalogue financialLogTagCatalogue;
+
+    public FinancialLogApi.FinancialLogTagsByCategoryResponse getTagsByCategory() {
+        Map<FinancialLogApi.Category, List<FinancialLogApi.FinancialLogTagIdAndNameResponse>> tagsByCategory =
+                new EnumMap<>(FinancialLogApi.Category.class);
+        financialLogTagCatalogue.getTags().byCategory().forEach((category, tags) -> tagsByCategory.put(
+                category,
+                tags.stream()
+                        .map(tag -> new FinancialLogApi.FinancialLogTagIdAndNameResponse(tag.uuid(), tag.name()))
+                        .toList()));
+        return new FinancialLogApi.FinancialLogTagsByCategoryResponse(tagsByCategory);
+    }
+
+    @Transactional
+    public FinancialLogApi.FinancialLogTagResponse createTag(
+            @NonNull FinancialLogApi.CreateFinancialLogTagRequest request) {
+        String name = request.name().strip();
+        if (financialLogTagCatalogue.getTags().find(request.category(), name).isPresent()) {
+            throw FinancialLogTagException.tagNameNotUniqueInCategory(name);
+        }
+        try {
+            return mapToResponse(financialLogTagCatalogue.create(name, request.category()));
+        } catch (DataIntegrityViolationException e) {
+            throw FinancialLogTagException.tagNameNotUniqueInCategory(name);
+        }
+    }
+
+    @Transactional
+    public FinancialLogApi.FinancialLogTagResponse updateTag(
+            @NonNull UUID uuid, @NonNull FinancialLogApi.UpdateFinancialLogTagRequest request) {
+        String name = request.name().strip();
+        financialLogTagCatalogue.getTags().find(request.category(), name)
+                .filter(existing -> !existing.uuid().equals(uuid))
+                .ifPresent(existing -> {
+                    throw FinancialLogTagException.tagNameNotUniqueInCategory(name);
+                });
+        try {
+            return mapToResponse(financialLogTagCatalogue.update(uuid, name, request.category()));
+        } catch (DataIntegrityViolationException e) {
+            throw FinancialLogTagException.tagNameNotUniqueInCategory(name);
+        }
+    }
+
+    private static FinancialLogApi.FinancialLogTagResponse mapToResponse(FinancialLogTag.Snapshot tag) {
+        return new FinancialLogApi.FinancialLogTagResponse(tag.uuid(), tag.name(), tag.category());
+    }
+}
@@ -2,13 +2,16 @@ package codeyourbrand.javainterview.financiallog.domain;
 
 import codeyourbrand.javainterview.common.annotations.DomainService;
 import codeyourbrand.javainterview.common.currencyconverter.CurrencyConverterService;
-import codeyourbrand.javainterview.common.model.CurrencyCode;
 import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.common.utils.CollectionUtils;
 import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
 import codeyourbrand.javainterview.financiallog.domain.exceptions.FinancialLogException;
 import lombok.RequiredArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @DomainService
 @RequiredArgsConstructor
@@ -16,14 +19,29 @@ public class FinancialLogDomainService {
     private final CurrencyConverterService converterService;
 
     public FinancialLogEntry create(FinancialLogEntry.Snapshot snapshot, FinancialLogApi.Source source) {
-        Money aedMoney = convertToAED(snapshot);
+        Money aedMoney = convertToAED(snapshot.money(), snapshot.settleDate());
         return new FinancialLogEntry(snapshot, source, aedMoney.getAmount());
     }
 
+    /**
+     * Creates many entries at once, converting all their amounts to AED at their settle dates in a single batch
+     * conversion.
+     */
+    public List<FinancialLogEntry> createAll(List<FinancialLogEntry.Snapshot> snapshots, FinancialLogApi.Source source) {
+        List<Money> aedMoney = converterService.convertAllToAed(
+                CollectionUtils.map(snapshots, FinancialLogEntry.Snapshot::money),
+                CollectionUtils.map(snapshots, FinancialLogEntry.Snapshot::settleDate));
+        List<FinancialLogEntry> entries = new ArrayList<>(snapshots.size());
+        for (int i = 0; i < snapshots.size(); i++) {
+            entries.add(new FinancialLogEntry(snapshots.get(i), source, aedMoney.get(i).getAmount()));
+        }
+        return entries;
+    }
+
     public FinancialLogEntry update(
             FinancialLogEntry.Snapshot snapshot, FinancialLogEntry entry, String modificationCause) {
         ensureModificationReasonIsGiven(snapshot.status(), modificationCause);
-        return entry.update(snapshot, getConvertedAedAmount(snapshot));
+        return entry.update(snapshot, getConvertedAedAmount(snapshot, entry));
     }
 
     private void ensureModificationReasonIsGiven(FinancialLogApi.Status status, String modificationCause) {
@@ -32,11 +50,22 @@ public class FinancialLogDomainService {
         }
     }
 
-    private BigDecimal getConvertedAedAmount(FinancialLogEntry.Snapshot snapshot) {
-        return snapshot.money() != null ? convertToAED(snapshot).getAmount() : null;
+    /**
+     * Converts the money the entry has after the update at the settle date it has after the update, so changing only
+     * the settle date also applies the rate of the new date.
+     *
+     * @return {@code null} when the update changes neither money nor settle date
+     */
+    private BigDecimal getConvertedAedAmount(FinancialLogEntry.Snapshot snapshot, FinancialLogEntry entry) {
+        if (snapshot.money() == null && snapshot.settleDate() == null) {
+            return null;
+        }
+        Money money = snapshot.money() != null ? snapshot.money() : entry.getMoney();
+        LocalDate settleDate = snapshot.settleDate() != null ? snapshot.settleDate() : entry.getSettleDate();
+        return convertToAED(money, settleDate).getAmount();
     }
 
-    private Money convertToAED(FinancialLogEntry.Snapshot snapshot) {
-        return converterService.convert(snapshot.money(), CurrencyCode.AED);
+    private Money convertToAED(Money money, LocalDate settleDate) {
+        return converterService.convertToAed(money, settleDate);
     }
 }
@@ -11,8 +11,9 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.antlr.v4.runtime.misc.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.generator.EventType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -37,6 +38,7 @@ public class FinancialLogEntry {
     @EqualsAndHashCode.Include
     private UUID uuid;
 
+    @Generated(event = EventType.INSERT)
     @Column(name = "sequence_number", insertable = false, updatable = false)
     private Long sequenceNumber;
 
@@ -67,6 +69,8 @@ public class FinancialLogEntry {
     private FinancialLogApi.Source source;
 
     @NotNull
+    // UPDATE and DELETE statements restrict the loaded settle date too, so they only visit the entry's partition
+    @PartitionKey
     @Column(name = "settle_date")
     private LocalDate settleDate;
 
@@ -75,8 +79,8 @@ public class FinancialLogEntry {
 
     private Reference reference;
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "tags", columnDefinition = "jsonb", nullable = false)
+    @Convert(converter = FinancialLogTagIdsConverter.class)
+    @Column(name = "tag_ids", nullable = false)
     private final Set<String> tags = new HashSet<>();
 
     @CreationTimestamp
@@ -112,8 +116,10 @@ public class FinancialLogEntry {
         if (snapshot.name() != null) {
             this.name = snapshot.name();
         }
-        if (snapshot.money() != null && aedAmount != null) {
+        if (snapshot.money() != null) {
             this.money = snapshot.money();
+        }
+        if (aedAmount != null) {
             this.aedAmount = aedAmount;
         }
         if (snapshot.settleDate() != null) {
@@ -167,7 +173,7 @@ public class FinancialLogEntry {
                 .reference(mapToApiReference(reference))
                 .notes(notes)
                 .source(source)
-                .tags(new HashSet<>(tags))
+                .tags(Set.copyOf(tags))
                 .createdAt(createdAt)
                 .build();
     }
@@ -10,10 +10,6 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.antlr.v4.runtime.misc.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.annotations.OnDelete;
-import org.hibernate.annotations.OnDeleteAction;
-import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -36,8 +32,7 @@ public class FinancialLogHistory {
     @JoinColumn(
             name = "financial_log_uuid",
             nullable = false,
-            foreignKey = @ForeignKey(name = "fk_financial_log_entry"))
-    @OnDelete(action = OnDeleteAction.CASCADE)
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private FinancialLogEntry financialLogEntry;
 
     @CreationTimestamp
@@ -86,8 +81,8 @@ public class FinancialLogHistory {
     @Enumerated(EnumType.STRING)
     private FinancialLogApi.Status status;
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "tags", columnDefinition = "jsonb", nullable = false)
+    @Convert(converter = FinancialLogTagIdsConverter.class)
+    @Column(name = "tag_ids", nullable = false)
     private Set<String> tags;
 
     @Column(name = "notes")
@@ -0,0 +1,53 @@
+package codeyourbrand.javainterview.financiallog.domain;
+
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.antlr.v4.runtime.misc.NotNull;
+
+import java.util.UUID;
+
+@Entity
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "financial_log_tag", schema = "financial_log")
+@Getter(AccessLevel.PACKAGE)
+public class FinancialLogTag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "uuid")
+    @EqualsAndHashCode.Include
+    private UUID uuid;
+
+    @NotNull
+    @Column(name = "name")
+    private String name;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category")
+    private FinancialLogApi.Category category;
+
+    protected FinancialLogTag() {}
+
+    public FinancialLogTag(String name, FinancialLogApi.Category category) {
+        this.name = name;
+        this.category = category;
+    }
+
+    public FinancialLogTag rename(String name, FinancialLogApi.Category category) {
+        this.name = name;
+        this.category = category;
+        return this;
+    }
+
+    public Snapshot toSnapshot() {
+        return new Snapshot(uuid, name, category);
+    }
+
+    public record Snapshot(UUID uuid, String name, FinancialLogApi.Category category) {}
+
+    public static final String NAME = "name";
+    public static final String CATEGORY = "category";
+}
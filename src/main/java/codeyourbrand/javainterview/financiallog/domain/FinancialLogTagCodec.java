@@ -0,0 +1,16 @@
+package codeyourbrand.javainterview.financiallog.domain;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Translates tag names into the integer ids stored in the {@code tag_ids} columns and back.
+ */
+public interface FinancialLogTagCodec {
+    /**
+     * Encodes the names into sorted ids, registering names that have no id yet.
+     */
+    int[] encode(Collection<String> names);
+
+    Set<String> decode(int[] ids);
+}
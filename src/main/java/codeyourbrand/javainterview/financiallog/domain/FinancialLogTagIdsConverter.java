@@ -0,0 +1,29 @@
+package codeyourbrand.javainterview.financiallog.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stores tag names as the sorted integer ids of the {@link FinancialLogTagCodec} in an {@code integer[]} column.
+ * Hibernate creates the converter through its bean container, which injects the codec from the Spring context.
+ */
+@Converter
+@RequiredArgsConstructor
+public class FinancialLogTagIdsConverter implements AttributeConverter<Set<String>, int[]> {
+    private final FinancialLogTagCodec financialLogTagCodec;
+
+    @Override
+    public int[] convertToDatabaseColumn(Set<String> tags) {
+        return financialLogTagCodec.encode(tags);
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(int[] tagIds) {
+        // entities change their tags in place
+        return new HashSet<>(financialLogTagCodec.decode(tagIds));
+    }
+}
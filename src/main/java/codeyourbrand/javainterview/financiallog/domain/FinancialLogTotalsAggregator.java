@@ -0,0 +1,193 @@
+package codeyourbrand.javainterview.financiallog.domain;
+
+import codeyourbrand.javainterview.common.model.MinorUnitMoney;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Sums income, cost and entry counts of many entries in memory, grouped by one dimension.
+ * <p>
+ * Totals are kept in primitive arrays indexed by the enum ordinal of the grouping dimension or by the settle date's
+ * offset from the first date, and amounts are summed as {@link MinorUnitMoney minor units}, so adding an entry
+ * allocates nothing. Income is the sum of the non-negative AED amounts and cost the sum of the negative ones, as in
+ * the database totals. Aggregators of the same shape can be {@link #merge merged}, which makes them usable as the
+ * partial results of parallel streams and fork-join tasks.
+ * <p>
+ * Sums throw {@link ArithmeticException} on overflow. An aggregator is not thread-safe.
+ */
+public final class FinancialLogTotalsAggregator {
+    private static final FinancialLogApi.Category[] CATEGORIES = FinancialLogApi.Category.values();
+    private static final FinancialLogApi.Source[] SOURCES = FinancialLogApi.Source.values();
+    private static final FinancialLogApi.Status[] STATUSES = FinancialLogApi.Status.values();
+
+    public enum Dimension {
+        CATEGORY,
+        SOURCE,
+        STATUS,
+        SETTLE_DATE
+    }
+
+    private final Dimension dimension;
+    private final long firstEpochDay;
+    private final long[] income;
+    private final long[] cost;
+    private final long[] count;
+
+    private FinancialLogTotalsAggregator(Dimension dimension, long firstEpochDay, int slots) {
+        this.dimension = dimension;
+        this.firstEpochDay = firstEpochDay;
+        this.income = new long[slots];
+        this.cost = new long[slots];
+        this.count = new long[slots];
+    }
+
+    public static FinancialLogTotalsAggregator byCategory() {
+        return new FinancialLogTotalsAggregator(Dimension.CATEGORY, 0, CATEGORIES.length);
+    }
+
+    public static FinancialLogTotalsAggregator bySource() {
+        return new FinancialLogTotalsAggregator(Dimension.SOURCE, 0, SOURCES.length);
+    }
+
+    public static FinancialLogTotalsAggregator byStatus() {
+        return new FinancialLogTotalsAggregator(Dimension.STATUS, 0, STATUSES.length);
+    }
+
+    /**
+     * Groups by settle date. Only entries settled from {@code from} to {@code to}, both inclusive, can be added.
+     */
+    public static FinancialLogTotalsAggregator bySettleDate(LocalDate from, LocalDate to) {
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        if (days < 1 || days > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid settle date range: " + from + " - " + to);
+        }
+        return new FinancialLogTotalsAggregator(Dimension.SETTLE_DATE, from.toEpochDay(), (int) days);
+    }
+
+    /**
+     * Collects snapshots into aggregators created by the factory, combining the partial aggregators of parallel
+     * streams with {@link #merge}.
+     */
+    public static Collector<FinancialLogEntry.Snapshot, ?, FinancialLogTotalsAggregator> collector(
+            Supplier<FinancialLogTotalsAggregator> factory) {
+        return Collector.of(factory, FinancialLogTotalsAggregator::add, FinancialLogTotalsAggregator::merge);
+    }
+
+    public Dimension dimension() {
+        return dimension;
+    }
+
+    public FinancialLogTotalsAggregator add(FinancialLogEntry.Snapshot entry) {
+        return add(
+                entry.category(),
+                entry.source(),
+                entry.status(),
+                entry.settleDate().toEpochDay(),
+                MinorUnitMoney.toMinorUnits(entry.aedAmount()));
+    }
+
+    /**
+     * Adds one entry given by its dimensions, its settle date as epoch day and its AED amount in minor units. Only
+     * the value of the grouping dimension is read.
+     *
+     * @throws IllegalArgumentException when the settle date is outside the aggregator's range
+     */
+    public FinancialLogTotalsAggregator add(
+            FinancialLogApi.Category category,
+            FinancialLogApi.Source source,
+            FinancialLogApi.Status status,
+            long settleEpochDay,
+            long aedMinorUnits) {
+        int slot = switch (dimension) {
+            case CATEGORY -> category.ordinal();
+            case SOURCE -> source.ordinal();
+            case STATUS -> status.ordinal();
+            case SETTLE_DATE -> dateSlot(settleEpochDay);
+        };
+        if (aedMinorUnits >= 0) {
+            income[slot] = Math.addExact(income[slot], aedMinorUnits);
+        } else {
+            cost[slot] = Math.addExact(cost[slot], aedMinorUnits);
+        }
+        count[slot]++;
+        return this;
+    }
+
+    /**
+     * Adds the totals of the other aggregator to this one.
+     *
+     * @throws IllegalArgumentException when the aggregators group by different dimensions or date ranges
+     */
+    public FinancialLogTotalsAggregator merge(FinancialLogTotalsAggregator other) {
+        if (dimension != other.dimension
+                || firstEpochDay != other.firstEpochDay
+                || count.length != other.count.length) {
+            throw new IllegalArgumentException("Cannot merge totals grouped differently");
+        }
+        for (int slot = 0; slot < count.length; slot++) {
+            income[slot] = Math.addExact(income[slot], other.income[slot]);
+            cost[slot] = Math.addExact(cost[slot], other.cost[slot]);
+            count[slot] += other.count[slot];
+        }
+        return this;
+    }
+
+    public Totals totals(FinancialLogApi.Category category) {
+        return totalsOf(Dimension.CATEGORY, category.ordinal());
+    }
+
+    public Totals totals(FinancialLogApi.Source source) {
+        return totalsOf(Dimension.SOURCE, source.ordinal());
+    }
+
+    public Totals totals(FinancialLogApi.Status status) {
+        return totalsOf(Dimension.STATUS, status.ordinal());
+    }
+
+    public Totals totals(LocalDate settleDate) {
+        return totalsOf(Dimension.SETTLE_DATE, dateSlot(settleDate.toEpochDay()));
+    }
+
+    /**
+     * @return totals of all added entries
+     */
+    public Totals total() {
+        long totalIncome = 0;
+        long totalCost = 0;
+        long totalCount = 0;
+        for (int slot = 0; slot < count.length; slot++) {
+            totalIncome = Math.addExact(totalIncome, income[slot]);
+            totalCost = Math.addExact(totalCost, cost[slot]);
+            totalCount += count[slot];
+        }
+        return new Totals(totalIncome, totalCost, totalCount);
+    }
+
+    private Totals totalsOf(Dimension requested, int slot) {
+        if (dimension != requested) {
+            throw new IllegalArgumentException("Totals are grouped by " + dimension + ", not by " + requested);
+        }
+        return new Totals(income[slot], cost[slot], count[slot]);
+    }
+
+    private int dateSlot(long settleEpochDay) {
+        long slot = settleEpochDay - firstEpochDay;
+        if (slot < 0 || slot >= count.length) {
+            throw new IllegalArgumentException(
+                    "Settle date " + LocalDate.ofEpochDay(settleEpochDay) + " is outside the aggregated range");
+        }
+        return (int) slot;
+    }
+
+    /**
+     * Totals of one group, amounts in AED minor units. {@code cost} is negative or zero.
+     */
+    public record Totals(long income, long cost, long count) {
+        public long profit() {
+            return Math.addExact(income, cost);
+        }
+    }
+}
@@ -13,6 +13,9 @@ public class Reference {
     public static final String BUSINESS_ID = "reference_business_id";
     public static final String TYPE = "reference_type";
     public static final String ID = "reference_id";
+    public static final String ID_PROPERTY = "id";
+    public static final String TYPE_PROPERTY = "type";
+    public static final String BUSINESS_ID_PROPERTY = "businessId";
     @Column(name = ID)
     private String id;
 
@@ -3,6 +3,9 @@ package codeyourbrand.javainterview.financiallog.domain.exceptions;
 import codeyourbrand.javainterview.common.exception.AbstractRuntimeException;
 import codeyourbrand.javainterview.common.model.ApplicationErrorCode;
 
+import java.util.Collection;
+import java.util.UUID;
+
 public class FinancialLogException extends AbstractRuntimeException {
     private FinancialLogException(String message, ApplicationErrorCode errorCode) {
         super(message, errorCode);
@@ -13,4 +16,27 @@ public class FinancialLogException extends AbstractRuntimeException {
                 "Modification reason must be provided when updating the ACCEPTED financial log entry.",
                 ApplicationErrorCode.DATA_VALIDATION_ERROR);
     }
+
+    public static FinancialLogException invalidContinuationToken() {
+        return new FinancialLogException(
+                "Continuation token is malformed or does not match the requested sorting.",
+                ApplicationErrorCode.DATA_VALIDATION_ERROR);
+    }
+
+    public static FinancialLogException duplicateEntriesInBulkUpdate() {
+        return new FinancialLogException(
+                "Every financial log entry may be updated only once per bulk update.",
+                ApplicationErrorCode.DATA_VALIDATION_ERROR);
+    }
+
+    public static FinancialLogException entriesNotFound(Collection<UUID> uuids) {
+        return new FinancialLogException(
+                "Financial log entries not found: " + uuids, ApplicationErrorCode.RESOURCE_NOT_FOUND);
+    }
+
+    public static FinancialLogException nameSearchTooShort(int minLength) {
+        return new FinancialLogException(
+                "Name search requires at least " + minLength + " characters.",
+                ApplicationErrorCode.DATA_VALIDATION_ERROR);
+    }
 }
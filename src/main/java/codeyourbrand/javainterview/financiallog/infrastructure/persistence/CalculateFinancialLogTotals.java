@@ -1,11 +1,12 @@
 package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
 
 import codeyourbrand.javainterview.common.specification.PredicateBuilder;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
 import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
 import codeyourbrand.javainterview.financiallog.domain.Reference;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.Expression;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
 
@@ -13,17 +14,54 @@ import java.math.BigDecimal;
 import java.util.Set;
 
 @Repository
-@RequiredArgsConstructor
 class CalculateFinancialLogTotals {
+    static final Set<String> ORDER_REFERENCE_TYPES = Set.of("ATTRACTION", "PACKAGE_HOLIDAY", "STAY");
+
     private final EntityManager entityManager;
+    private final FinancialLogTagDictionary financialLogTagDictionary;
+    private final FinancialLogOrderSketchRepository financialLogOrderSketchRepository;
+    private final boolean approximateOrders;
+
+    CalculateFinancialLogTotals(
+            EntityManager entityManager,
+            FinancialLogTagDictionary financialLogTagDictionary,
+            FinancialLogOrderSketchRepository financialLogOrderSketchRepository,
+            @Value("${financial-log.daily-summary.approximate-orders:false}") boolean approximateOrders) {
+        this.entityManager = entityManager;
+        this.financialLogTagDictionary = financialLogTagDictionary;
+        this.financialLogOrderSketchRepository = financialLogOrderSketchRepository;
+        this.approximateOrders = approximateOrders;
+    }
 
-    FinancialSummary calculateFinancialSummary(Specification<FinancialLogEntry> spec) {
-        var incomeCostAndProfit = calculateIncomeCostAndProfit(spec);
-        var dailyOrders = countOrders(spec);
-        return new FinancialSummary(incomeCostAndProfit.income(), incomeCostAndProfit.profit(), dailyOrders);
+    /**
+     * Calculates revenue, profit and the number of distinct orders. With approximate orders enabled and filters the
+     * order sketches cover, orders are estimated from the sketches with
+     * {@link FinancialLogOrderSketchRepository#RELATIVE_STANDARD_ERROR}, otherwise they are counted exactly.
+     */
+    FinancialSummary calculateFinancialSummary(FinancialLogApi.GetFinancialLogFiltersRequest filters) {
+        var incomeCostAndProfit = calculateIncomeCostAndProfit(filters);
+        if (approximateOrders && coveredByOrderSketches(filters)) {
+            long orders = financialLogOrderSketchRepository.estimateOrders(
+                    filters.getSettleDateFrom(), filters.getSettleDateTo(), filters.getCategory());
+            return new FinancialSummary(
+                    incomeCostAndProfit.income(),
+                    incomeCostAndProfit.profit(),
+                    orders,
+                    FinancialLogOrderSketchRepository.RELATIVE_STANDARD_ERROR);
+        }
+        var spec = new FinancialLogEntrySpecification(filters, financialLogTagDictionary);
+        return new FinancialSummary(incomeCostAndProfit.income(), incomeCostAndProfit.profit(), countOrders(spec), 0);
     }
 
-    private static final Set<String> ORDER_REFERENCE_TYPES = Set.of("ATTRACTION", "PACKAGE_HOLIDAY", "STAY");
+    /**
+     * Order sketches exist per settle date and category for ACCEPTED entries, so they answer filters on these
+     * dimensions only.
+     */
+    private static boolean coveredByOrderSketches(FinancialLogApi.GetFinancialLogFiltersRequest filters) {
+        return FinancialLogDailyRollup.covers(filters)
+                && filters.getStatus() == FinancialLogApi.Status.ACCEPTED
+                && filters.getSource() == null;
+    }
 
     private Long countOrders(Specification<FinancialLogEntry> spec) {
         var cb = entityManager.getCriteriaBuilder();
@@ -34,14 +72,40 @@ class CalculateFinancialLogTotals {
         var criteriaData = PredicateBuilder.build(cb, root);
         var referenceNotNull = PredicateBuilder.isNotNull(FinancialLogEntry.REFERENCE, criteriaData);
         var referenceTypeIsOrder =
-                root.get(FinancialLogEntry.REFERENCE).get(Reference.TYPE).in(ORDER_REFERENCE_TYPES);
+                root.get(FinancialLogEntry.REFERENCE).get(Reference.TYPE_PROPERTY).in(ORDER_REFERENCE_TYPES);
 
-        cq.select(cb.countDistinct(root.get(FinancialLogEntry.REFERENCE).get(Reference.ID)))
+        cq.select(cb.countDistinct(root.get(FinancialLogEntry.REFERENCE).get(Reference.ID_PROPERTY)))
                 .where(cb.and(predicate, referenceNotNull, referenceTypeIsOrder));
 
         return entityManager.createQuery(cq).getSingleResult();
     }
 
+    /**
+     * Calculates totals from {@code financial_log_daily_rollup} when the filters only touch its dimensions,
+     * otherwise falls back to scanning {@code financial_log_entry}.
+     */
+    IncomeCostAndProfit calculateIncomeCostAndProfit(FinancialLogApi.GetFinancialLogFiltersRequest filters) {
+        if (!FinancialLogDailyRollup.covers(filters)) {
+            return calculateIncomeCostAndProfit(
+                    new FinancialLogEntrySpecification(filters, financialLogTagDictionary));
+        }
+
+        var cb = entityManager.getCriteriaBuilder();
+        var cq = cb.createQuery(IncomeCostAndProfit.class);
+        var root = cq.from(FinancialLogDailyRollup.class);
+
+        var predicate = new FinancialLogDailyRollupSpecification(filters).toPredicate(root, cq, cb);
+
+        cq.select(cb.construct(
+                        IncomeCostAndProfit.class,
+                        cb.coalesce(cb.sum(root.get(FinancialLogDailyRollup.INCOME)), BigDecimal.ZERO),
+                        cb.coalesce(cb.sum(root.get(FinancialLogDailyRollup.COST)), BigDecimal.ZERO),
+                        cb.coalesce(cb.sum(root.<Long>get(FinancialLogDailyRollup.ENTRY_COUNT)), 0L)))
+                .where(predicate);
+
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
     IncomeCostAndProfit calculateIncomeCostAndProfit(Specification<FinancialLogEntry> spec) {
         var cb = entityManager.getCriteriaBuilder();
         var cq = cb.createQuery(IncomeCostAndProfit.class);
@@ -64,17 +128,25 @@ class CalculateFinancialLogTotals {
         cq.select(cb.construct(
                         IncomeCostAndProfit.class,
                         cb.coalesce(cb.sum(incomeCase), BigDecimal.ZERO),
-                        cb.coalesce(cb.sum(costCase), BigDecimal.ZERO)))
+                        cb.coalesce(cb.sum(costCase), BigDecimal.ZERO),
+                        cb.count(root)))
                 .where(predicate);
 
         return entityManager.createQuery(cq).getSingleResult();
     }
 
-    record IncomeCostAndProfit(BigDecimal income, BigDecimal cost) {
+    /**
+     * Totals of the filtered entries. {@code count} is the number of matching entries, which lets paged queries
+     * skip the separate COUNT query.
+     */
+    record IncomeCostAndProfit(BigDecimal income, BigDecimal cost, Long count) {
         public BigDecimal profit() {
             return income.add(cost);
         }
     }
 
-    public record FinancialSummary(BigDecimal revenue, BigDecimal profit, Long orders) {}
+    /**
+     * {@code ordersRelativeError} is the relative standard error of {@code orders}, 0 when they were counted exactly.
+     */
+    public record FinancialSummary(BigDecimal revenue, BigDecimal profit, Long orders, double ordersRelativeError) {}
 }
@@ -0,0 +1,109 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import codeyourbrand.javainterview.financiallog.domain.exceptions.FinancialLogException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token of keyset scrolling. It encodes the sorting it was issued for and the
+ * {@code (sortBy value, sequence_number, uuid)} key of the last returned entry, as
+ * {@code base64url(sortBy|direction|sequenceNumber|uuid|sortValue)}.
+ * <p>
+ * Keyset scrolling of Spring Data appends the entity id to the sort and requires a value for every sort property, so
+ * the uuid is part of the key although the sequence number is already unique.
+ */
+final class FinancialLogContinuationToken {
+    private static final String SEPARATOR = "|";
+    private static final int PARTS = 5;
+
+    private FinancialLogContinuationToken() {
+        // prevent instantiation
+    }
+
+    static String encode(FinancialLogApi.GetFinancialLogFiltersRequest request, FinancialLogEntry.Snapshot last) {
+        String token = request.getSortBy().name()
+                + SEPARATOR + request.getSortDirection().name()
+                + SEPARATOR + last.sequenceNumber()
+                + SEPARATOR + last.uuid()
+                + SEPARATOR + sortValueOf(request.getSortBy(), last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the request's token into the keyset position to continue from.
+     *
+     * @throws FinancialLogException when the token is malformed or was issued for a different sorting
+     */
+    static KeysetScrollPosition decode(FinancialLogApi.GetFinancialLogFiltersRequest request) {
+        if (request.getContinuationToken() == null) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String token = new String(
+                    Base64.getUrlDecoder().decode(request.getContinuationToken()), StandardCharsets.UTF_8);
+            String[] parts = token.split("\\" + SEPARATOR, PARTS);
+            if (parts.length != PARTS) {
+                throw FinancialLogException.invalidContinuationToken();
+            }
+            FinancialLogApi.SortBy sortBy = FinancialLogApi.SortBy.valueOf(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            if (sortBy != request.getSortBy() || direction != request.getSortDirection()) {
+                throw FinancialLogException.invalidContinuationToken();
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (sortBy != FinancialLogApi.SortBy.ID) {
+                keys.put(sortBy.getValue(), parseSortValue(sortBy, parts[4]));
+            }
+            keys.put(FinancialLogEntry.SEQUENCE_NUMBER, Long.valueOf(parts[2]));
+            keys.put(FinancialLogEntry.UUID, UUID.fromString(parts[3]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw FinancialLogException.invalidContinuationToken();
+        }
+    }
+
+    /**
+     * Sort of keyset scrolling. The sequence number is appended as a tie-breaker, so the position is unique for
+     * every {@link FinancialLogApi.SortBy} option. The uuid is appended in the same direction, otherwise Spring Data
+     * would append it ascending.
+     */
+    static Sort sortOf(FinancialLogApi.GetFinancialLogFiltersRequest request) {
+        Sort sort = Sort.by(request.getSortDirection(), request.getSortBy().getValue());
+        if (request.getSortBy() != FinancialLogApi.SortBy.ID) {
+            sort = sort.and(Sort.by(request.getSortDirection(), FinancialLogEntry.SEQUENCE_NUMBER));
+        }
+        return sort.and(Sort.by(request.getSortDirection(), FinancialLogEntry.UUID));
+    }
+
+    private static Object sortValueOf(FinancialLogApi.SortBy sortBy, FinancialLogEntry.Snapshot entry) {
+        return switch (sortBy) {
+            case ID -> entry.sequenceNumber();
+            case NAME -> entry.name();
+            case SETTLE_DATE -> entry.settleDate();
+            case VALUE -> entry.aedAmount().toPlainString();
+        };
+    }
+
+    private static Object parseSortValue(FinancialLogApi.SortBy sortBy, String value) {
+        return switch (sortBy) {
+            case ID -> Long.valueOf(value);
+            case NAME -> value;
+            case SETTLE_DATE -> LocalDate.parse(value);
+            case VALUE -> new BigDecimal(value);
+        };
+    }
+}
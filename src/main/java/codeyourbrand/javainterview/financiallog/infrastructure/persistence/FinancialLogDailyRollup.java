@@ -0,0 +1,87 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.utils.CollectionUtils;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read model holding income, cost and entry count of {@code financial_log_entry} rows aggregated per
+ * settle date, category, status and source.
+ * <p>
+ * Rows are maintained incrementally by {@link FinancialLogDailyRollupRepository} in the same transaction as the
+ * entry changes, so they are never written through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "financial_log_daily_rollup", schema = "financial_log")
+@Getter(AccessLevel.PACKAGE)
+class FinancialLogDailyRollup {
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "income", precision = 19, scale = 2, nullable = false)
+    private BigDecimal income;
+
+    @Column(name = "cost", precision = 19, scale = 2, nullable = false)
+    private BigDecimal cost;
+
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount;
+
+    protected FinancialLogDailyRollup() {}
+
+    /**
+     * Tells whether totals for the given filters can be answered from the rollup, i.e. the filters only touch
+     * the rollup dimensions. Filters on name, tags, value ranges, creation time or reference need the raw table.
+     */
+    static boolean covers(FinancialLogApi.GetFinancialLogFiltersRequest filters) {
+        return filters.getName() == null
+                && filters.getValueFrom() == null
+                && filters.getValueTo() == null
+                && CollectionUtils.isEmpty(filters.getTags())
+                && CollectionUtils.isEmpty(filters.getExcludedTags())
+                && filters.getCreatedAtFrom() == null
+                && filters.getCreatedAtTo() == null
+                && filters.getCreatedAtBefore() == null
+                && filters.getReferenceBusinessId() == null;
+    }
+
+    @Embeddable
+    @Getter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode
+    static class Key implements Serializable {
+        @Column(name = "settle_date", nullable = false)
+        private LocalDate settleDate;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "category", nullable = false)
+        private FinancialLogApi.Category category;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "status", nullable = false)
+        private FinancialLogApi.Status status;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "source", nullable = false)
+        private FinancialLogApi.Source source;
+
+        protected Key() {}
+    }
+
+    public static final String KEY = "key";
+    public static final String INCOME = "income";
+    public static final String COST = "cost";
+    public static final String ENTRY_COUNT = "entryCount";
+    public static final String SETTLE_DATE = "settleDate";
+    public static final String CATEGORY = "category";
+    public static final String STATUS = "status";
+    public static final String SOURCE = "source";
+}
@@ -0,0 +1,152 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.model.MinorUnitMoney;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code financial_log_daily_rollup} in sync with entry changes.
+ * <p>
+ * Changes are accumulated in memory per rollup key and written with a single additive upsert, so concurrent writers
+ * touching the same day never overwrite each other. Keys are sorted before writing to keep row lock order stable.
+ */
+@Repository
+@RequiredArgsConstructor
+class FinancialLogDailyRollupRepository {
+    private static final String UPSERT_SQL =
+            """
+            INSERT INTO financial_log.financial_log_daily_rollup AS r
+                (settle_date, category, status, source, income, cost, entry_count)
+            SELECT *
+            FROM unnest(?::date[], ?::varchar[], ?::varchar[], ?::varchar[], ?::numeric[], ?::numeric[], ?::bigint[])
+            ON CONFLICT (settle_date, category, status, source) DO UPDATE
+                SET income      = r.income + EXCLUDED.income,
+                    cost        = r.cost + EXCLUDED.cost,
+                    entry_count = r.entry_count + EXCLUDED.entry_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    void add(Collection<FinancialLogEntry.Snapshot> entries) {
+        Changes changes = new Changes();
+        entries.forEach(changes::add);
+        apply(changes);
+    }
+
+    void apply(Changes changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        int size = changes.changes.size();
+        String[] settleDates = new String[size];
+        String[] categories = new String[size];
+        String[] statuses = new String[size];
+        String[] sources = new String[size];
+        BigDecimal[] incomes = new BigDecimal[size];
+        BigDecimal[] costs = new BigDecimal[size];
+        Long[] counts = new Long[size];
+
+        int i = 0;
+        for (Map.Entry<Key, Change> entry : changes.changes.entrySet()) {
+            Key key = entry.getKey();
+            settleDates[i] = key.settleDate().toString();
+            categories[i] = key.category().name();
+            statuses[i] = key.status().name();
+            sources[i] = key.source().name();
+            incomes[i] = MinorUnitMoney.toAmount(entry.getValue().income);
+            costs[i] = MinorUnitMoney.toAmount(entry.getValue().cost);
+            counts[i] = entry.getValue().count;
+            i++;
+        }
+
+        jdbcTemplate.update(UPSERT_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("text", settleDates));
+            ps.setArray(2, connection.createArrayOf("text", categories));
+            ps.setArray(3, connection.createArrayOf("text", statuses));
+            ps.setArray(4, connection.createArrayOf("text", sources));
+            ps.setArray(5, connection.createArrayOf("numeric", incomes));
+            ps.setArray(6, connection.createArrayOf("numeric", costs));
+            ps.setArray(7, connection.createArrayOf("bigint", counts));
+        });
+    }
+
+    /**
+     * Signed rollup deltas collected from added and removed entries. An update is a removal of the old state
+     * followed by an addition of the new one. Amounts are summed as minor units, so accumulating does not allocate.
+     */
+    static final class Changes {
+        private final Map<Key, Change> changes = new TreeMap<>(Key.ORDER);
+
+        Changes add(FinancialLogEntry.Snapshot entry) {
+            return add(entry.settleDate(), entry.category(), entry.status(), entry.source(), entry.aedAmount());
+        }
+
+        Changes remove(FinancialLogEntry.Snapshot entry) {
+            return remove(entry.settleDate(), entry.category(), entry.status(), entry.source(), entry.aedAmount());
+        }
+
+        Changes add(
+                LocalDate settleDate,
+                FinancialLogApi.Category category,
+                FinancialLogApi.Status status,
+                FinancialLogApi.Source source,
+                BigDecimal aedAmount) {
+            return accumulate(new Key(settleDate, category, status, source), aedAmount, 1);
+        }
+
+        Changes remove(
+                LocalDate settleDate,
+                FinancialLogApi.Category category,
+                FinancialLogApi.Status status,
+                FinancialLogApi.Source source,
+                BigDecimal aedAmount) {
+            return accumulate(new Key(settleDate, category, status, source), aedAmount, -1);
+        }
+
+        boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        private Changes accumulate(Key key, BigDecimal aedAmount, int sign) {
+            Change change = changes.computeIfAbsent(key, k -> new Change());
+            long signedAmount = Math.multiplyExact(MinorUnitMoney.toMinorUnits(aedAmount), sign);
+            if (aedAmount.signum() >= 0) {
+                change.income = Math.addExact(change.income, signedAmount);
+            } else {
+                change.cost = Math.addExact(change.cost, signedAmount);
+            }
+            change.count += sign;
+            return this;
+        }
+    }
+
+    private record Key(
+            LocalDate settleDate,
+            FinancialLogApi.Category category,
+            FinancialLogApi.Status status,
+            FinancialLogApi.Source source) {
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::settleDate)
+                .thenComparing(Key::category)
+                .thenComparing(Key::status)
+                .thenComparing(Key::source);
+    }
+
+    private static final class Change {
+        private long income;
+        private long cost;
+        private long count;
+    }
+}
@@ -0,0 +1,51 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.specification.PredicateBuilder;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.NonNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static codeyourbrand.javainterview.common.specification.PredicateBuilder.conjunctionPath;
+
+@RequiredArgsConstructor
+class FinancialLogDailyRollupSpecification implements Specification<FinancialLogDailyRollup> {
+    private final FinancialLogApi.GetFinancialLogFiltersRequest filters;
+
+    @Override
+    public Predicate toPredicate(
+            @NonNull Root<FinancialLogDailyRollup> root,
+            @NonNull CriteriaQuery<?> query,
+            @NonNull CriteriaBuilder criteriaBuilder) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        var criteriaData = PredicateBuilder.build(criteriaBuilder, root);
+        Path<LocalDate> settleDate =
+                root.get(FinancialLogDailyRollup.KEY).get(FinancialLogDailyRollup.SETTLE_DATE);
+
+        predicates.add(conjunctionPath(
+                filters.getStatus(), criteriaData, FinancialLogDailyRollup.KEY, FinancialLogDailyRollup.STATUS));
+        predicates.add(conjunctionPath(
+                filters.getCategory(), criteriaData, FinancialLogDailyRollup.KEY, FinancialLogDailyRollup.CATEGORY));
+        predicates.add(conjunctionPath(
+                filters.getSource(), criteriaData, FinancialLogDailyRollup.KEY, FinancialLogDailyRollup.SOURCE));
+        if (filters.getSettleDateFrom() != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(settleDate, filters.getSettleDateFrom()));
+        }
+        if (filters.getSettleDateTo() != null) {
+            predicates.add(criteriaBuilder.lessThanOrEqualTo(settleDate, filters.getSettleDateTo()));
+        }
+
+        return predicates.stream().filter(Objects::nonNull).reduce(criteriaBuilder.conjunction(), criteriaBuilder::and);
+    }
+}
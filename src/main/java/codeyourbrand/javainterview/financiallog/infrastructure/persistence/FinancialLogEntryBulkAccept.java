@@ -0,0 +1,109 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Accepts drafts with one set-based UPDATE per chunk of uuids instead of loading the entities first.
+ * <p>
+ * Only rows still in DRAFT status are updated, and {@code RETURNING} yields exactly the columns needed for their
+ * history and daily rollup, so the state before the update is known without a separate read. Chunks are processed
+ * in uuid order, each in its own transaction, which keeps the number of locked rows bounded and the lock order
+ * stable.
+ * <p>
+ * Callers pass uuids only, so the UPDATE is not pruned to the drafts' partitions and looks up every uuid in each
+ * monthly partition.
+ */
+@Repository
+class FinancialLogEntryBulkAccept {
+    private static final String ACCEPT_SQL =
+            """
+            UPDATE financial_log.financial_log_entry e
+            SET status = 'ACCEPTED', version = coalesce(e.version, 0) + 1
+            WHERE e.uuid = ANY (?) AND e.status = 'DRAFT'
+            RETURNING e.uuid, e.sequence_number, e.name, e.category, e.settle_date, e.amount, e.currency, e.aed_amount,
+                      e.reference_id, e.reference_type, e.reference_business_id, e.notes, e.source, e.tag_ids
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FinancialLogTagDictionary financialLogTagDictionary;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    FinancialLogEntryBulkAccept(
+            JdbcTemplate jdbcTemplate,
+            FinancialLogTagDictionary financialLogTagDictionary,
+            PlatformTransactionManager transactionManager,
+            @Value("${financial-log.accept-drafts.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.financialLogTagDictionary = financialLogTagDictionary;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Accepts the drafts chunk by chunk. Every chunk is committed in its own transaction, which also runs
+     * {@code chunkAccepted} with the chunk's accepted entries. A failure rolls back the current chunk only, the chunks
+     * before it stay accepted. Only the uuids of accepted entries are kept across chunks, so memory is bounded by the
+     * chunk size rather than the number of drafts.
+     *
+     * @param chunkAccepted called in the chunk's transaction with the snapshots of its accepted entries as they were
+     *                      before the update, i.e. in DRAFT status
+     * @return uuids of the accepted entries
+     */
+    Set<UUID> acceptDrafts(List<UUID> uuids, Consumer<List<FinancialLogEntry.Snapshot>> chunkAccepted) {
+        List<UUID> sorted = uuids.stream().distinct().sorted().toList();
+        Set<UUID> accepted = new HashSet<>();
+        for (int from = 0; from < sorted.size(); from += chunkSize) {
+            UUID[] chunk = sorted.subList(from, Math.min(from + chunkSize, sorted.size())).toArray(UUID[]::new);
+            accepted.addAll(transactionTemplate.execute(status -> {
+                List<FinancialLogEntry.Snapshot> chunkAccepts = jdbcTemplate.query(
+                        ACCEPT_SQL,
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", chunk)),
+                        (rs, rowNum) -> mapDraft(rs));
+                chunkAccepted.accept(chunkAccepts);
+                return chunkAccepts.stream().map(FinancialLogEntry.Snapshot::uuid).toList();
+            }));
+        }
+        return accepted;
+    }
+
+    private FinancialLogEntry.Snapshot mapDraft(ResultSet rs) throws SQLException {
+        String referenceId = rs.getString("reference_id");
+        return FinancialLogEntry.Snapshot.builder()
+                .uuid(rs.getObject("uuid", UUID.class))
+                .sequenceNumber(rs.getLong("sequence_number"))
+                .status(FinancialLogApi.Status.DRAFT)
+                .name(rs.getString("name"))
+                .category(FinancialLogApi.Category.valueOf(rs.getString("category")))
+                .settleDate(rs.getObject("settle_date", LocalDate.class))
+                .money(new Money(rs.getBigDecimal("amount"), CurrencyCode.valueOf(rs.getString("currency"))))
+                .aedAmount(rs.getBigDecimal("aed_amount"))
+                .reference(referenceId == null
+                        ? null
+                        : new FinancialLogApi.Reference(
+                                referenceId, rs.getString("reference_type"), rs.getString("reference_business_id")))
+                .notes(rs.getString("notes"))
+                .source(FinancialLogApi.Source.valueOf(rs.getString("source")))
+                .tags(financialLogTagDictionary.decode(FinancialLogTagDictionary.toIds(rs.getArray("tag_ids"))))
+                .build();
+    }
+}
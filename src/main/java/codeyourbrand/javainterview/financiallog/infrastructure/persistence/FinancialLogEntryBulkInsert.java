@@ -0,0 +1,130 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserts many entries with one statement per chunk instead of one INSERT per entity.
+ * <p>
+ * Column values are bound as arrays and expanded with {@code unnest}, so the statement text and its parameter count
+ * do not depend on the chunk size and the driver can keep it prepared. UUIDs are generated here and the identity
+ * {@code sequence_number} is read back with {@code RETURNING} in the same round trip. {@code created_at} is bound from
+ * the JVM clock, like {@code @CreationTimestamp} does for entities saved through Hibernate.
+ */
+@Repository
+class FinancialLogEntryBulkInsert {
+    static final String INSERT_SQL =
+            """
+            INSERT INTO financial_log.financial_log_entry
+                (uuid, version, status, name, aed_amount, category, source, settle_date, notes, tag_ids,
+                 amount, currency, reference_id, reference_type, reference_business_id, created_at)
+            SELECT e.uuid, 0, e.status, e.name, e.aed_amount, e.category, e.source, e.settle_date, e.notes,
+                   e.tag_ids::int[], e.amount, e.currency, e.reference_id, e.reference_type, e.reference_business_id,
+                   c.created_at
+            FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::numeric[], ?::varchar[], ?::varchar[], ?::date[],
+                        ?::varchar[], ?::text[], ?::numeric[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[])
+                AS e(uuid, status, name, aed_amount, category, source, settle_date, notes, tag_ids,
+                     amount, currency, reference_id, reference_type, reference_business_id)
+                CROSS JOIN (VALUES (?::timestamp)) AS c(created_at)
+            RETURNING uuid, sequence_number
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FinancialLogTagDictionary financialLogTagDictionary;
+    private final int chunkSize;
+
+    FinancialLogEntryBulkInsert(
+            JdbcTemplate jdbcTemplate,
+            FinancialLogTagDictionary financialLogTagDictionary,
+            @Value("${financial-log.bulk-insert.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.financialLogTagDictionary = financialLogTagDictionary;
+        this.chunkSize = chunkSize;
+    }
+
+    List<FinancialLogRepository.InsertedEntry> insertAll(List<FinancialLogEntry.Snapshot> entries) {
+        List<FinancialLogRepository.InsertedEntry> inserted = new ArrayList<>(entries.size());
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            List<FinancialLogEntry.Snapshot> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+            jdbcTemplate.query(
+                    INSERT_SQL,
+                    ps -> bind(ps, chunk, financialLogTagDictionary),
+                    rs -> {
+                        inserted.add(new FinancialLogRepository.InsertedEntry(
+                                rs.getObject("uuid", UUID.class), rs.getLong("sequence_number")));
+                    });
+        }
+        return inserted;
+    }
+
+    static void bind(
+            PreparedStatement ps,
+            List<FinancialLogEntry.Snapshot> chunk,
+            FinancialLogTagDictionary financialLogTagDictionary) throws SQLException {
+        int size = chunk.size();
+        UUID[] uuids = new UUID[size];
+        String[] statuses = new String[size];
+        String[] names = new String[size];
+        BigDecimal[] aedAmounts = new BigDecimal[size];
+        String[] categories = new String[size];
+        String[] sources = new String[size];
+        String[] settleDates = new String[size];
+        String[] notes = new String[size];
+        String[] tagIds = new String[size];
+        BigDecimal[] amounts = new BigDecimal[size];
+        String[] currencies = new String[size];
+        String[] referenceIds = new String[size];
+        String[] referenceTypes = new String[size];
+        String[] referenceBusinessIds = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            FinancialLogEntry.Snapshot entry = chunk.get(i);
+            uuids[i] = UUID.randomUUID();
+            statuses[i] = entry.status().name();
+            names[i] = entry.name();
+            aedAmounts[i] = entry.aedAmount();
+            categories[i] = entry.category().name();
+            sources[i] = entry.source().name();
+            settleDates[i] = entry.settleDate().toString();
+            notes[i] = entry.notes();
+            tagIds[i] = FinancialLogTagDictionary.toArrayLiteral(
+                    financialLogTagDictionary.encode(entry.tags()));
+            amounts[i] = entry.money().getAmount();
+            currencies[i] = entry.money().getCurrency().name();
+            if (entry.reference() != null) {
+                referenceIds[i] = entry.reference().id();
+                referenceTypes[i] = entry.reference().type();
+                referenceBusinessIds[i] = entry.reference().businessId();
+            }
+        }
+
+        Connection connection = ps.getConnection();
+        ps.setArray(1, connection.createArrayOf("uuid", uuids));
+        ps.setArray(2, connection.createArrayOf("varchar", statuses));
+        ps.setArray(3, connection.createArrayOf("varchar", names));
+        ps.setArray(4, connection.createArrayOf("numeric", aedAmounts));
+        ps.setArray(5, connection.createArrayOf("varchar", categories));
+        ps.setArray(6, connection.createArrayOf("varchar", sources));
+        ps.setArray(7, connection.createArrayOf("varchar", settleDates));
+        ps.setArray(8, connection.createArrayOf("varchar", notes));
+        ps.setArray(9, connection.createArrayOf("text", tagIds));
+        ps.setArray(10, connection.createArrayOf("numeric", amounts));
+        ps.setArray(11, connection.createArrayOf("varchar", currencies));
+        ps.setArray(12, connection.createArrayOf("varchar", referenceIds));
+        ps.setArray(13, connection.createArrayOf("varchar", referenceTypes));
+        ps.setArray(14, connection.createArrayOf("varchar", referenceBusinessIds));
+        ps.setTimestamp(15, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,103 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of {@code financial_log_entry}, which is partitioned by {@code settle_date}.
+ * <p>
+ * Partitions of the current month and the configured number of months ahead are created on a fixed schedule, so new
+ * entries are written to their month's partition rather than to the default one. Partitions of old months can be
+ * detached for archiving: the detached table keeps its name and contents, while its entries drop out of every query,
+ * including the daily rollup and order sketch totals, and the partition no longer costs vacuum or index maintenance of
+ * the active table.
+ */
+@Slf4j
+@Repository
+class FinancialLogEntryPartitions {
+    private static final String PARTITION_PREFIX = "financial_log_entry_";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String CREATE_PARTITION_SQL =
+            "SELECT financial_log.create_financial_log_entry_partition(?)";
+    private static final String DETACH_PARTITION_SQL =
+            "SELECT financial_log.detach_financial_log_entry_partition(?)";
+    private static final String SELECT_PARTITIONS_SQL =
+            """
+            SELECT c.relname
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'financial_log.financial_log_entry'::regclass
+              AND c.relname ~ '^financial_log_entry_[0-9]{4}_[0-9]{2}$'
+            ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    FinancialLogEntryPartitions(
+            JdbcTemplate jdbcTemplate,
+            @Value("${financial-log.entry-partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * Creates the missing partitions from the current month up to {@code months-ahead} months later. A failed run is
+     * retried on the next one, entries of months without a partition meanwhile go to the default partition.
+     */
+    @Scheduled(fixedDelayString = "${financial-log.entry-partitions.maintenance-interval:PT12H}")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        try {
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition(current.plusMonths(i));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Creating financial log entry partitions failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Creates the partition of the month unless it exists, moving the month's entries out of the default partition.
+     *
+     * @return whether the partition was created
+     */
+    boolean createPartition(YearMonth month) {
+        boolean created = Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, Boolean.class, month.atDay(1)));
+        if (created) {
+            log.info("Created financial log entry partition for {}", month);
+        }
+        return created;
+    }
+
+    /**
+     * Detaches the partitions of all months before the given one, oldest first, and deletes the months' daily rollup
+     * and order sketch rows. Entries of the default partition are never detached.
+     *
+     * @return names of the detached tables
+     */
+    List<String> detachPartitionsBefore(YearMonth month) {
+        List<String> detached = new ArrayList<>();
+        for (String partition : jdbcTemplate.queryForList(SELECT_PARTITIONS_SQL, String.class)) {
+            YearMonth partitionMonth =
+                    YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_MONTH);
+            if (partitionMonth.isBefore(month) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    DETACH_PARTITION_SQL, Boolean.class, partitionMonth.atDay(1)))) {
+                log.info("Detached financial log entry partition {}", partition);
+                detached.add(partition);
+            }
+        }
+        return detached;
+    }
+}
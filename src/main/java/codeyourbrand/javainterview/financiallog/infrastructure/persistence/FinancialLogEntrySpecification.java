@@ -15,12 +15,14 @@ import org.springframework.lang.NonNull;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import static codeyourbrand.javainterview.common.specification.PredicateBuilder.*;
 
 @RequiredArgsConstructor
 class FinancialLogEntrySpecification implements Specification<FinancialLogEntry> {
     private final FinancialLogApi.GetFinancialLogFiltersRequest filters;
+    private final FinancialLogTagDictionary tagDictionary;
 
     @Override
     public Predicate toPredicate(
@@ -33,19 +35,60 @@ class FinancialLogEntrySpecification implements Specification<FinancialLogEntry>
 
         predicates.add(conjunction(filters.getStatus(), FinancialLogEntry.STATUS, criteriaData));
         predicates.add(conjunction(filters.getCategory(), FinancialLogEntry.CATEGORY, criteriaData));
-        predicates.add(likeIgnoreCase(filters.getName(), FinancialLogEntry.NAME, criteriaData));
+        predicates.add(namePredicate(criteriaData));
         predicates.add(greaterThanOrEqual(filters.getSettleDateFrom(), FinancialLogEntry.SETTLE_DATE, criteriaData));
         predicates.add(lessThanOrEqual(filters.getSettleDateTo(), FinancialLogEntry.SETTLE_DATE, criteriaData));
         predicates.add(greaterThanOrEqual(filters.getValueFrom(), FinancialLogEntry.AED_AMOUNT, criteriaData));
         predicates.add(lessThanOrEqual(filters.getValueTo(), FinancialLogEntry.AED_AMOUNT, criteriaData));
-        predicates.add(oneOfJsonb(filters.getTags(), FinancialLogEntry.TAGS, criteriaData));
+        predicates.add(tagPredicate(criteriaData));
+        predicates.add(overlapsNoneArray(
+                tagDictionary.lookup(filters.getExcludedTags()), FinancialLogEntry.TAGS, criteriaData));
         predicates.add(greaterThanOrEqual(filters.getCreatedAtFrom(), FinancialLogEntry.CREATED_AT, criteriaData));
         predicates.add(lessThanOrEqual(filters.getCreatedAtTo(), FinancialLogEntry.CREATED_AT, criteriaData));
         predicates.add(lessThan(filters.getCreatedAtBefore(), FinancialLogEntry.CREATED_AT, criteriaData));
         predicates.add(conjunction(filters.getSource(), FinancialLogEntry.SOURCE, criteriaData));
         predicates.add(conjunctionPath(
-                filters.getReferenceBusinessId(), criteriaData, FinancialLogEntry.REFERENCE, Reference.BUSINESS_ID));
+                filters.getReferenceBusinessId(),
+                criteriaData,
+                FinancialLogEntry.REFERENCE,
+                Reference.BUSINESS_ID_PROPERTY));
 
         return predicates.stream().filter(Objects::nonNull).reduce(criteriaBuilder.conjunction(), criteriaBuilder::and);
     }
+
+    /**
+     * @return the name filter without surrounding whitespace, or null when it is missing or blank
+     */
+    static String nameOf(FinancialLogApi.GetFinancialLogFiltersRequest filters) {
+        String name = filters.getName();
+        return name == null || name.isBlank() ? null : name.strip();
+    }
+
+    private Predicate namePredicate(PredicateBuilder.CriteriaData<FinancialLogEntry> criteriaData) {
+        String name = nameOf(filters);
+        return switch (filters.getNameMatch()) {
+            case CONTAINS -> likeIgnoreCase(name, FinancialLogEntry.NAME, criteriaData);
+            case PREFIX -> startsWithIgnoreCase(name, FinancialLogEntry.NAME, criteriaData);
+            case FUZZY -> wordSimilarIgnoreCase(name, FinancialLogEntry.NAME, criteriaData);
+        };
+    }
+
+    /**
+     * Tags are matched by their dictionary ids. A tag missing from the dictionary is on no entry, so it cannot be
+     * matched by ANY and makes ALL match nothing.
+     */
+    private Predicate tagPredicate(PredicateBuilder.CriteriaData<FinancialLogEntry> criteriaData) {
+        if (filters.getTags() == null || filters.getTags().isEmpty()) {
+            return null;
+        }
+        int[] tagIds = tagDictionary.lookup(filters.getTags());
+        if (filters.getTagMatch() == FinancialLogApi.TagMatch.ALL) {
+            return tagIds.length == Set.copyOf(filters.getTags()).size()
+                    ? containsAllArray(tagIds, FinancialLogEntry.TAGS, criteriaData)
+                    : criteriaData.getCriteriaBuilder().disjunction();
+        }
+        return tagIds.length > 0
+                ? overlapsArray(tagIds, FinancialLogEntry.TAGS, criteriaData)
+                : criteriaData.getCriteriaBuilder().disjunction();
+    }
 }
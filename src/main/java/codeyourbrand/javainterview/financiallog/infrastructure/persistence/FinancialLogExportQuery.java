@@ -0,0 +1,112 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import codeyourbrand.javainterview.financiallog.domain.Reference;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams filtered entries as flat scalar rows over a forward-only cursor.
+ * <p>
+ * Only columns are selected, never entities, so nothing is attached to the persistence context and memory stays
+ * constant regardless of the number of rows. Must run inside a transaction: outside of one the PostgreSQL driver
+ * ignores the fetch size and reads the whole result set at once.
+ */
+@Repository
+class FinancialLogExportQuery {
+    private final EntityManager entityManager;
+    private final FinancialLogTagDictionary financialLogTagDictionary;
+    private final int fetchSize;
+
+    FinancialLogExportQuery(
+            EntityManager entityManager,
+            FinancialLogTagDictionary financialLogTagDictionary,
+            @Value("${financial-log.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.financialLogTagDictionary = financialLogTagDictionary;
+        this.fetchSize = fetchSize;
+    }
+
+    void forEachRow(FinancialLogApi.GetFinancialLogFiltersRequest request, Consumer<FinancialLogRepository.ExportRow> consumer) {
+        var cb = entityManager.getCriteriaBuilder();
+        var cq = cb.createTupleQuery();
+        var root = cq.from(FinancialLogEntry.class);
+        Path<Money> money = root.get(FinancialLogEntry.MONEY);
+        Path<Reference> reference = root.get(FinancialLogEntry.REFERENCE);
+
+        Order[] order = Stream.of(request.getSortBy().getValue(), FinancialLogEntry.SEQUENCE_NUMBER)
+                .distinct()
+                .map(property -> request.getSortDirection() == Sort.Direction.ASC
+                        ? cb.asc(root.get(property))
+                        : cb.desc(root.get(property)))
+                .toArray(Order[]::new);
+
+        cq.multiselect(
+                        root.get(FinancialLogEntry.UUID),
+                        root.get(FinancialLogEntry.SEQUENCE_NUMBER),
+                        root.get(FinancialLogEntry.NAME),
+                        root.get(FinancialLogEntry.STATUS),
+                        root.get(FinancialLogEntry.CATEGORY),
+                        root.get(FinancialLogEntry.SOURCE),
+                        root.get(FinancialLogEntry.SETTLE_DATE),
+                        money.get("amount"),
+                        money.get("currency"),
+                        root.get(FinancialLogEntry.AED_AMOUNT),
+                        reference.get(Reference.ID_PROPERTY),
+                        reference.get(Reference.TYPE_PROPERTY),
+                        reference.get(Reference.BUSINESS_ID_PROPERTY),
+                        root.get(FinancialLogEntry.TAGS),
+                        root.get(FinancialLogEntry.NOTES),
+                        root.get(FinancialLogEntry.CREATED_AT))
+                .where(new FinancialLogEntrySpecification(request, financialLogTagDictionary)
+                        .toPredicate(root, cq, cb))
+                .orderBy(List.of(order));
+
+        try (Stream<Tuple> rows = entityManager
+                .createQuery(cq)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            rows.map(FinancialLogExportQuery::toExportRow).forEach(consumer);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FinancialLogRepository.ExportRow toExportRow(Tuple tuple) {
+        return new FinancialLogRepository.ExportRow(
+                tuple.get(0, UUID.class),
+                tuple.get(1, Long.class),
+                tuple.get(2, String.class),
+                tuple.get(3, FinancialLogApi.Status.class),
+                tuple.get(4, FinancialLogApi.Category.class),
+                tuple.get(5, FinancialLogApi.Source.class),
+                tuple.get(6, LocalDate.class),
+                tuple.get(7, BigDecimal.class),
+                tuple.get(8, CurrencyCode.class),
+                tuple.get(9, BigDecimal.class),
+                tuple.get(10, String.class),
+                tuple.get(11, String.class),
+                tuple.get(12, String.class),
+                (Set<String>) tuple.get(13),
+                tuple.get(14, String.class),
+                tuple.get(15, LocalDateTime.class));
+    }
+}
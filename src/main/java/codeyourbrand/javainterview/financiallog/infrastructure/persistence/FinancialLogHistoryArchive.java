@@ -0,0 +1,210 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogHistory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps {@code financial_log_history} small by moving records older than the configured age to
+ * {@code financial_log_history_archive}, which stores all archived records of an entry in one row of arrays.
+ * <p>
+ * Records are moved in batches of the oldest ones, each batch deleted from the hot table and appended to the archive
+ * rows of its entries in one statement. Reads combine both tables in a single statement, so a record being moved is
+ * seen exactly once.
+ * <p>
+ * Appending to an archive row rewrites the whole row, including its compressed arrays. A run moves the records that
+ * reached {@code max-age} since the previous one, so an entry's row is rewritten once per interval in which one of its
+ * records was written, and the cost grows quadratically with the number of such intervals. This is accepted as entries
+ * collect few records, mostly shortly after their creation.
+ */
+@Slf4j
+@Repository
+class FinancialLogHistoryArchive {
+    private static final String ARCHIVE_SQL =
+            """
+            WITH moved AS (
+                DELETE FROM financial_log.financial_log_history
+                WHERE uuid IN (SELECT uuid
+                               FROM financial_log.financial_log_history
+                               WHERE created_at < ?
+                               ORDER BY created_at
+                               LIMIT ?
+                               FOR UPDATE SKIP LOCKED)
+                RETURNING *
+            ), archived AS (
+                INSERT INTO financial_log.financial_log_history_archive AS a
+                    (financial_log_uuid, created_at, created_by, financial_log_name, settle_date, action, status,
+                     tag_ids, notes, original_amount, original_currency, converted_amount, category, reference_id,
+                     reference_type, reference_business_id)
+                SELECT financial_log_uuid,
+                       array_agg(created_at ORDER BY created_at),
+                       array_agg(created_by ORDER BY created_at),
+                       array_agg(financial_log_name ORDER BY created_at),
+                       array_agg(settle_date ORDER BY created_at),
+                       array_agg(action ORDER BY created_at),
+                       array_agg(status ORDER BY created_at),
+                       array_agg(tag_ids::text ORDER BY created_at),
+                       array_agg(notes ORDER BY created_at),
+                       array_agg(original_amount ORDER BY created_at),
+                       array_agg(original_currency ORDER BY created_at),
+                       array_agg(converted_amount ORDER BY created_at),
+                       array_agg(category ORDER BY created_at),
+                       array_agg(reference_id ORDER BY created_at),
+                       array_agg(reference_type ORDER BY created_at),
+                       array_agg(reference_business_id ORDER BY created_at)
+                FROM moved
+                GROUP BY financial_log_uuid
+                ON CONFLICT (financial_log_uuid) DO UPDATE
+                    SET created_at            = a.created_at || excluded.created_at,
+                        created_by            = a.created_by || excluded.created_by,
+                        financial_log_name    = a.financial_log_name || excluded.financial_log_name,
+                        settle_date           = a.settle_date || excluded.settle_date,
+                        action                = a.action || excluded.action,
+                        status                = a.status || excluded.status,
+                        tag_ids               = a.tag_ids || excluded.tag_ids,
+                        notes                 = a.notes || excluded.notes,
+                        original_amount       = a.original_amount || excluded.original_amount,
+                        original_currency     = a.original_currency || excluded.original_currency,
+                        converted_amount      = a.converted_amount || excluded.converted_amount,
+                        category              = a.category || excluded.category,
+                        reference_id          = a.reference_id || excluded.reference_id,
+                        reference_type        = a.reference_type || excluded.reference_type,
+                        reference_business_id = a.reference_business_id || excluded.reference_business_id
+            )
+            SELECT count(*) FROM moved
+            """;
+
+    private static final String SELECT_HISTORY_SQL =
+            """
+            SELECT created_at, created_by, financial_log_name, settle_date, action, status, tag_ids, notes,
+                   original_amount, original_currency, converted_amount, category, reference_id, reference_type,
+                   reference_business_id
+            FROM financial_log.financial_log_history
+            WHERE financial_log_uuid = ?
+            UNION ALL
+            SELECT r.created_at, r.created_by, r.financial_log_name, r.settle_date, r.action, r.status,
+                   r.tag_ids::int[], r.notes, r.original_amount, r.original_currency, r.converted_amount, r.category,
+                   r.reference_id, r.reference_type, r.reference_business_id
+            FROM financial_log.financial_log_history_archive a
+                     CROSS JOIN LATERAL unnest(a.created_at, a.created_by, a.financial_log_name, a.settle_date,
+                                               a.action, a.status, a.tag_ids, a.notes, a.original_amount,
+                                               a.original_currency, a.converted_amount, a.category, a.reference_id,
+                                               a.reference_type, a.reference_business_id)
+                AS r(created_at, created_by, financial_log_name, settle_date, action, status, tag_ids, notes,
+                     original_amount, original_currency, converted_amount, category, reference_id, reference_type,
+                     reference_business_id)
+            WHERE a.financial_log_uuid = ?
+            ORDER BY created_at DESC
+            """;
+
+    private static final String DELETE_HISTORY_SQL =
+            "DELETE FROM financial_log.financial_log_history WHERE financial_log_uuid = ANY (?)";
+    private static final String DELETE_ARCHIVED_HISTORY_SQL =
+            "DELETE FROM financial_log.financial_log_history_archive WHERE financial_log_uuid = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FinancialLogTagDictionary financialLogTagDictionary;
+    private final Duration maxAge;
+    private final int batchSize;
+
+    FinancialLogHistoryArchive(
+            JdbcTemplate jdbcTemplate,
+            FinancialLogTagDictionary financialLogTagDictionary,
+            @Value("${financial-log.history-archive.max-age:P90D}") Duration maxAge,
+            @Value("${financial-log.history-archive.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.financialLogTagDictionary = financialLogTagDictionary;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Moves the records older than {@code max-age} to the archive, one batch per transaction. A failed run keeps the
+     * batches moved so far and is continued by the next one.
+     */
+    @Scheduled(fixedDelayString = "${financial-log.history-archive.interval:PT1H}")
+    public void archive() {
+        try {
+            long archived = archiveCreatedBefore(LocalDateTime.now().minus(maxAge));
+            if (archived > 0) {
+                log.info("Archived {} financial log history records older than {}", archived, maxAge);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Archiving financial log history failed, continuing on the next run", e);
+        }
+    }
+
+    /**
+     * @return number of archived records
+     */
+    long archiveCreatedBefore(LocalDateTime before) {
+        long archived = 0;
+        long moved;
+        do {
+            Long count = jdbcTemplate.queryForObject(ARCHIVE_SQL, Long.class, Timestamp.valueOf(before), batchSize);
+            moved = count != null ? count : 0;
+            archived += moved;
+        } while (moved == batchSize);
+        return archived;
+    }
+
+    /**
+     * @return the hot and archived history of the entry, newest first
+     */
+    List<FinancialLogHistory.Snapshot> findHistory(UUID financialLogUuid) {
+        return jdbcTemplate.query(
+                SELECT_HISTORY_SQL, (rs, rowNum) -> toSnapshot(rs), financialLogUuid, financialLogUuid);
+    }
+
+    /**
+     * Deletes the hot and archived history of the entries. The archive is deleted by a second statement, which also
+     * sees records that a concurrent archiving run moved while the first statement waited for them.
+     */
+    void deleteHistory(List<UUID> financialLogUuids) {
+        UUID[] uuids = financialLogUuids.toArray(UUID[]::new);
+        jdbcTemplate.update(
+                DELETE_HISTORY_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", uuids)));
+        jdbcTemplate.update(
+                DELETE_ARCHIVED_HISTORY_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", uuids)));
+    }
+
+    private FinancialLogHistory.Snapshot toSnapshot(ResultSet rs) throws SQLException {
+        String category = rs.getString("category");
+        String referenceId = rs.getString("reference_id");
+        return FinancialLogHistory.Snapshot.builder()
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .createdBy(rs.getString("created_by"))
+                .financialLogName(rs.getString("financial_log_name"))
+                .settleDate(rs.getObject("settle_date", LocalDate.class))
+                .action(rs.getString("action"))
+                .status(FinancialLogApi.Status.valueOf(rs.getString("status")))
+                .tags(financialLogTagDictionary.decode(FinancialLogTagDictionary.toIds(rs.getArray("tag_ids"))))
+                .notes(rs.getString("notes"))
+                .originalMoney(new Money(
+                        rs.getBigDecimal("original_amount"),
+                        CurrencyCode.valueOf(rs.getString("original_currency"))))
+                .aedAmount(rs.getBigDecimal("converted_amount"))
+                .category(category != null ? FinancialLogApi.Category.valueOf(category) : null)
+                .reference(referenceId != null
+                        ? new FinancialLogApi.Reference(
+                                referenceId, rs.getString("reference_type"), rs.getString("reference_business_id"))
+                        : null)
+                .build();
+    }
+}
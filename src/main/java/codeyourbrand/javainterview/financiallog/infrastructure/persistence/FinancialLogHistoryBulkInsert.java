@@ -0,0 +1,129 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes a batch of history records with one multi-row INSERT, binding the column values as arrays expanded with
+ * {@code unnest} like {@link FinancialLogEntryBulkInsert}.
+ * <p>
+ * Records are keyed by {@code financial_log_uuid} alone, no entry is loaded. The join with the entry table drops
+ * records of entries that were deleted in the meantime instead of failing the batch on the foreign key, and the
+ * {@code KEY SHARE} lock keeps the joined entries from being deleted before the insert completes.
+ * <p>
+ * The join is not pruned to the entries' partitions: the records hold the settle date before the change, and the
+ * entry may have moved to another month since, so only the uuid is a reliable join key.
+ */
+@Repository
+@RequiredArgsConstructor
+class FinancialLogHistoryBulkInsert {
+    private static final String INSERT_SQL =
+            """
+            INSERT INTO financial_log.financial_log_history
+                (uuid, financial_log_uuid, created_at, created_by, financial_log_name, settle_date, action, status,
+                 tag_ids, notes, original_amount, original_currency, converted_amount, converted_currency, category,
+                 reference_id, reference_type, reference_business_id)
+            SELECT gen_random_uuid(), h.financial_log_uuid, h.created_at, h.created_by, h.financial_log_name,
+                   h.settle_date, h.action, h.status, h.tag_ids::int[], h.notes, h.original_amount, h.original_currency,
+                   h.converted_amount, ?, h.category, h.reference_id, h.reference_type, h.reference_business_id
+            FROM unnest(?::uuid[], ?::timestamp[], ?::varchar[], ?::varchar[], ?::date[], ?::varchar[], ?::varchar[],
+                        ?::text[], ?::varchar[], ?::numeric[], ?::varchar[], ?::numeric[], ?::varchar[],
+                        ?::varchar[], ?::varchar[], ?::varchar[])
+                AS h(financial_log_uuid, created_at, created_by, financial_log_name, settle_date, action, status,
+                     tag_ids, notes, original_amount, original_currency, converted_amount, category,
+                     reference_id, reference_type, reference_business_id)
+            JOIN financial_log.financial_log_entry e ON e.uuid = h.financial_log_uuid
+            FOR KEY SHARE OF e
+            RETURNING financial_log_uuid
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FinancialLogTagDictionary financialLogTagDictionary;
+
+    /**
+     * @return uuids of the entries a history record was written for
+     */
+    Set<UUID> insertAll(List<FinancialLogRepository.PendingHistory> history) {
+        Set<UUID> written = new HashSet<>();
+        if (history.isEmpty()) {
+            return written;
+        }
+
+        int size = history.size();
+        UUID[] entryUuids = new UUID[size];
+        Timestamp[] createdAts = new Timestamp[size];
+        String[] createdBys = new String[size];
+        String[] names = new String[size];
+        String[] settleDates = new String[size];
+        String[] actions = new String[size];
+        String[] statuses = new String[size];
+        String[] tagIds = new String[size];
+        String[] notes = new String[size];
+        BigDecimal[] originalAmounts = new BigDecimal[size];
+        String[] originalCurrencies = new String[size];
+        BigDecimal[] convertedAmounts = new BigDecimal[size];
+        String[] categories = new String[size];
+        String[] referenceIds = new String[size];
+        String[] referenceTypes = new String[size];
+        String[] referenceBusinessIds = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            FinancialLogRepository.PendingHistory pending = history.get(i);
+            FinancialLogHistory.Snapshot snapshot = pending.snapshot();
+            entryUuids[i] = pending.financialLogUuid();
+            createdAts[i] = Timestamp.valueOf(pending.createdAt());
+            createdBys[i] = snapshot.createdBy();
+            names[i] = snapshot.financialLogName();
+            settleDates[i] = snapshot.settleDate().toString();
+            actions[i] = snapshot.action();
+            statuses[i] = snapshot.status().name();
+            tagIds[i] = FinancialLogTagDictionary.toArrayLiteral(
+                    financialLogTagDictionary.encode(snapshot.tags()));
+            notes[i] = snapshot.notes();
+            originalAmounts[i] = snapshot.originalMoney().getAmount();
+            originalCurrencies[i] = snapshot.originalMoney().getCurrency().name();
+            convertedAmounts[i] = snapshot.aedAmount();
+            categories[i] = snapshot.category() != null ? snapshot.category().name() : null;
+            if (snapshot.reference() != null) {
+                referenceIds[i] = snapshot.reference().id();
+                referenceTypes[i] = snapshot.reference().type();
+                referenceBusinessIds[i] = snapshot.reference().businessId();
+            }
+        }
+
+        jdbcTemplate.query(INSERT_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setString(1, CurrencyCode.AED.name());
+            ps.setArray(2, connection.createArrayOf("uuid", entryUuids));
+            ps.setArray(3, connection.createArrayOf("timestamp", createdAts));
+            ps.setArray(4, connection.createArrayOf("varchar", createdBys));
+            ps.setArray(5, connection.createArrayOf("varchar", names));
+            ps.setArray(6, connection.createArrayOf("varchar", settleDates));
+            ps.setArray(7, connection.createArrayOf("varchar", actions));
+            ps.setArray(8, connection.createArrayOf("varchar", statuses));
+            ps.setArray(9, connection.createArrayOf("text", tagIds));
+            ps.setArray(10, connection.createArrayOf("varchar", notes));
+            ps.setArray(11, connection.createArrayOf("numeric", originalAmounts));
+            ps.setArray(12, connection.createArrayOf("varchar", originalCurrencies));
+            ps.setArray(13, connection.createArrayOf("numeric", convertedAmounts));
+            ps.setArray(14, connection.createArrayOf("varchar", categories));
+            ps.setArray(15, connection.createArrayOf("varchar", referenceIds));
+            ps.setArray(16, connection.createArrayOf("varchar", referenceTypes));
+            ps.setArray(17, connection.createArrayOf("varchar", referenceBusinessIds));
+        }, rs -> {
+            written.add(rs.getObject("financial_log_uuid", UUID.class));
+        });
+        return written;
+    }
+}
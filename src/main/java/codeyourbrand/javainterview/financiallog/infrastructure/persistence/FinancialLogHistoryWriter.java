@@ -0,0 +1,224 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogHistory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Writes history records in micro-batches on a single background thread.
+ * <p>
+ * Records of all enqueued events go into one bounded queue. The writer takes up to {@code batch-size} records, or
+ * whatever arrived within {@code max-delay} of the first one, and stores them with a single multi-row insert in its
+ * own transaction. When the queue stays full for {@code enqueue-timeout} the caller writes its records itself, which
+ * slows producers down instead of dropping history, and a failure of that write is thrown to the caller.
+ * <p>
+ * A failed batch is retried up to {@code max-attempts} times, waiting {@code retry-backoff} times the attempt number
+ * in between. If it still fails, its records are written one by one, so a single bad record does not take the others
+ * with it, and records failing on their own are logged as errors with their contents.
+ * <p>
+ * Once shutdown starts no record is queued any more, new records are written by the caller, and the queue is drained
+ * before the writer stops. Shutdown waits at most {@code shutdown-timeout} for that; records still queued then are
+ * logged as errors with their contents and dropped.
+ */
+@Slf4j
+@Component
+public class FinancialLogHistoryWriter {
+    private final FinancialLogRepository financialLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<FinancialLogRepository.PendingHistory> queue;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final long enqueueTimeoutNanos;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration shutdownTimeout;
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    FinancialLogHistoryWriter(
+            FinancialLogRepository financialLogRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${financial-log.history-writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${financial-log.history-writer.batch-size:500}") int batchSize,
+            @Value("${financial-log.history-writer.max-delay:PT0.2S}") Duration maxDelay,
+            @Value("${financial-log.history-writer.enqueue-timeout:PT5S}") Duration enqueueTimeout,
+            @Value("${financial-log.history-writer.max-attempts:3}") int maxAttempts,
+            @Value("${financial-log.history-writer.retry-backoff:PT1S}") Duration retryBackoff,
+            @Value("${financial-log.history-writer.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.financialLogRepository = financialLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.shutdownTimeout = shutdownTimeout;
+        this.worker = new Thread(this::run, "financial-log-history-writer");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    /**
+     * Queues one history record per entry of the map, blocking while the queue is full. Records that are not queued
+     * are written right away.
+     *
+     * @throws org.springframework.dao.DataAccessException when writing the records that were not queued fails
+     */
+    public void enqueue(Map<UUID, FinancialLogHistory.Snapshot> entryUuidToOldSnapshot, Instant occurredAt) {
+        LocalDateTime createdAt = LocalDateTime.ofInstant(occurredAt, ZoneId.systemDefault());
+        List<FinancialLogRepository.PendingHistory> rejected = new ArrayList<>();
+        long deadline = System.nanoTime() + enqueueTimeoutNanos;
+        // shutdown waits for queuing callers, so the queue is never drained before their records are in it
+        shutdownLock.readLock().lock();
+        try {
+            for (Map.Entry<UUID, FinancialLogHistory.Snapshot> entry : entryUuidToOldSnapshot.entrySet()) {
+                FinancialLogRepository.PendingHistory pending =
+                        new FinancialLogRepository.PendingHistory(entry.getKey(), entry.getValue(), createdAt);
+                if (!running || !offer(pending, deadline)) {
+                    rejected.add(pending);
+                }
+            }
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+        if (!rejected.isEmpty()) {
+            write(rejected);
+        }
+    }
+
+    private boolean offer(FinancialLogRepository.PendingHistory pending, long deadline) {
+        try {
+            return queue.offer(pending, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<FinancialLogRepository.PendingHistory> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                FinancialLogRepository.PendingHistory first = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    FinancialLogRepository.PendingHistory next =
+                            queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                writeWithRetry(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeWithRetry(List<FinancialLogRepository.PendingHistory> batch) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Writing {} financial log history records failed, attempt {} of {}",
+                        batch.size(), attempt, maxAttempts, e);
+            }
+            if (attempt < maxAttempts && !sleep(retryBackoff.multipliedBy(attempt))) {
+                break;
+            }
+        }
+        writeOneByOne(batch);
+    }
+
+    private void writeOneByOne(List<FinancialLogRepository.PendingHistory> batch) {
+        for (FinancialLogRepository.PendingHistory pending : batch) {
+            try {
+                write(List.of(pending));
+            } catch (RuntimeException e) {
+                log.error("Lost history record of financial log entry {}: {}", pending.financialLogUuid(), pending, e);
+            }
+        }
+    }
+
+    private void write(List<FinancialLogRepository.PendingHistory> batch) {
+        Set<UUID> skipped = transactionTemplate.execute(status -> financialLogRepository.createHistory(batch));
+        if (skipped != null && !skipped.isEmpty()) {
+            log.warn("Skipped history of {} deleted financial log entries: {}", skipped.size(), skipped);
+        }
+    }
+
+    /**
+     * @return {@code false} when interrupted
+     */
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        shutdownLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        boolean stopped = worker.join(shutdownTimeout);
+        List<FinancialLogRepository.PendingHistory> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (stopped) {
+            if (!remaining.isEmpty()) {
+                writeWithRetry(remaining);
+            }
+            return;
+        }
+        worker.interrupt();
+        log.error("Financial log history writer did not stop within {}, dropping {} queued records",
+                shutdownTimeout, remaining.size());
+        for (FinancialLogRepository.PendingHistory pending : remaining) {
+            log.error("Lost history record of financial log entry {}: {}", pending.financialLogUuid(), pending);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.specification.PredicateBuilder;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import codeyourbrand.javainterview.financiallog.domain.exceptions.FinancialLogException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Finds the entries best matching the name filter, ranked by relevance instead of the requested sorting.
+ * <p>
+ * PREFIX matches are read in name order from the byte-wise {@code lower(name)} index, for type-ahead. CONTAINS and
+ * FUZZY matches are served by the trigram index and ranked by word similarity, so the closest names come first. The
+ * stripped name must have a minimum length, since shorter inputs match too many rows for any index to help, and the
+ * number of results is capped. The same minimum applies to the CONTAINS name filter of listings.
+ */
+@Repository
+class FinancialLogNameSearch {
+    private final EntityManager entityManager;
+    private final FinancialLogTagDictionary financialLogTagDictionary;
+    private final int minLength;
+    private final int maxResults;
+
+    FinancialLogNameSearch(
+            EntityManager entityManager,
+            FinancialLogTagDictionary financialLogTagDictionary,
+            @Value("${financial-log.name-search.min-length:3}") int minLength,
+            @Value("${financial-log.name-search.max-results:50}") int maxResults) {
+        this.entityManager = entityManager;
+        this.financialLogTagDictionary = financialLogTagDictionary;
+        this.minLength = minLength;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * @throws FinancialLogException when the name is missing or shorter than the minimum length
+     */
+    List<FinancialLogEntry> search(FinancialLogApi.GetFinancialLogFiltersRequest request) {
+        String name = FinancialLogEntrySpecification.nameOf(request);
+        if (name == null || name.length() < minLength) {
+            throw FinancialLogException.nameSearchTooShort(minLength);
+        }
+
+        var cb = entityManager.getCriteriaBuilder();
+        var cq = cb.createQuery(FinancialLogEntry.class);
+        var root = cq.from(FinancialLogEntry.class);
+        var criteriaData = PredicateBuilder.build(cb, root);
+
+        var rank = request.getNameMatch() == FinancialLogApi.NameMatch.PREFIX
+                ? cb.asc(PredicateBuilder.lowerBytewise(FinancialLogEntry.NAME, criteriaData))
+                : cb.desc(PredicateBuilder.wordSimilarityIgnoreCase(name, FinancialLogEntry.NAME, criteriaData));
+        cq.select(root)
+                .where(new FinancialLogEntrySpecification(request, financialLogTagDictionary)
+                        .toPredicate(root, cq, cb))
+                .orderBy(rank, cb.desc(root.get(FinancialLogEntry.SEQUENCE_NUMBER)));
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(Math.clamp(request.getSize(), 1, maxResults))
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    /**
+     * Checks the name filter of a listing. Substring matches of short names can not use the trigram index and would
+     * scan the whole table.
+     *
+     * @throws FinancialLogException when the name is matched as a substring and shorter than the minimum length
+     */
+    void checkNameFilter(FinancialLogApi.GetFinancialLogFiltersRequest request) {
+        String name = FinancialLogEntrySpecification.nameOf(request);
+        if (name != null && request.getNameMatch() == FinancialLogApi.NameMatch.CONTAINS && name.length() < minLength) {
+            throw FinancialLogException.nameSearchTooShort(minLength);
+        }
+    }
+}
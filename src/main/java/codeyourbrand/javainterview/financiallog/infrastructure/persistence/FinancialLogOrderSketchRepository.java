@@ -0,0 +1,251 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Keeps {@code financial_log_order_sketch} in sync with entry changes and estimates distinct order counts from it.
+ * <p>
+ * Every sketch is a HyperLogLog of the order references of ACCEPTED entries with one settle date and category.
+ * References are hashed and merged into the sketches by SQL functions, so adding entries is a single upsert that
+ * takes the register-wise maximum and concurrent writers never lose each other's references. A sketch cannot forget a
+ * reference, so when an entry stops counting for a sketch, by deletion or by a change of its date, category, status
+ * or reference, the sketch is rebuilt from the entries it still covers.
+ * <p>
+ * Estimates have a relative standard error of {@value #RELATIVE_STANDARD_ERROR}: about 68% of them are within
+ * 1.6% and 95% within 3.3% of the exact count.
+ */
+@Repository
+@RequiredArgsConstructor
+class FinancialLogOrderSketchRepository {
+    /**
+     * 1.04 / sqrt(4096), the relative standard error of a HyperLogLog with 4096 registers.
+     */
+    static final double RELATIVE_STANDARD_ERROR = 0.01625;
+
+    private static final int REGISTERS = 4096;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private static final String ADD_SQL =
+            """
+            INSERT INTO financial_log.financial_log_order_sketch AS s (settle_date, category, registers)
+            SELECT settle_date, category, financial_log.order_sketch(array_agg(reference_id))
+            FROM unnest(?::date[], ?::varchar[], ?::varchar[]) AS e(settle_date, category, reference_id)
+            GROUP BY settle_date, category
+            ORDER BY settle_date, category
+            ON CONFLICT (settle_date, category) DO UPDATE
+                SET registers = financial_log.order_sketch_merge(s.registers, EXCLUDED.registers)
+            """;
+
+    private static final String LOCK_SQL =
+            """
+            SELECT s.settle_date
+            FROM financial_log.financial_log_order_sketch s
+            JOIN unnest(?::date[], ?::varchar[]) AS k(settle_date, category)
+                ON s.settle_date = k.settle_date AND s.category = k.category
+            ORDER BY s.settle_date, s.category
+            FOR UPDATE OF s
+            """;
+
+    private static final String REBUILD_SQL =
+            """
+            UPDATE financial_log.financial_log_order_sketch s
+            SET registers = (SELECT financial_log.order_sketch(array_agg(e.reference_id))
+                             FROM financial_log.financial_log_entry e
+                             WHERE e.settle_date = s.settle_date
+                               AND e.category = s.category
+                               AND e.status = 'ACCEPTED'
+                               AND e.reference_id IS NOT NULL
+                               AND e.reference_type = ANY (?))
+            FROM unnest(?::date[], ?::varchar[]) AS k(settle_date, category)
+            WHERE s.settle_date = k.settle_date AND s.category = k.category
+            """;
+
+    private static final String UNION_SQL =
+            """
+            SELECT financial_log.order_sketch_union(registers)
+            FROM financial_log.financial_log_order_sketch
+            WHERE (CAST(? AS date) IS NULL OR settle_date >= ?)
+              AND (CAST(? AS date) IS NULL OR settle_date <= ?)
+              AND (CAST(? AS varchar) IS NULL OR category = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the order references of the entries that count as orders.
+     */
+    void add(Collection<FinancialLogEntry.Snapshot> entries) {
+        merge(entries.stream().map(Member::of).filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * Adds the order references of drafts that have just been accepted.
+     */
+    void addAccepted(Collection<FinancialLogEntry.Snapshot> drafts) {
+        merge(drafts.stream()
+                .map(draft -> Member.of(
+                        draft.settleDate(), draft.category(), FinancialLogApi.Status.ACCEPTED, draft.reference()))
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private void merge(List<Member> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+
+        String[] settleDates = mapToArray(members, member -> member.settleDate().toString());
+        String[] categories = mapToArray(members, member -> member.category().name());
+        String[] referenceIds = mapToArray(members, Member::referenceId);
+        jdbcTemplate.update(ADD_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("text", settleDates));
+            ps.setArray(2, connection.createArrayOf("text", categories));
+            ps.setArray(3, connection.createArrayOf("text", referenceIds));
+        });
+    }
+
+    /**
+     * Moves the entries' order references from their previous state to the current one. Sketches that lose a
+     * reference are rebuilt, the others are merged with the new references.
+     *
+     * @param previous states of the entries before the change, in the order of {@code current}
+     * @param current states of the entries after the change
+     */
+    void replace(List<FinancialLogEntry.Snapshot> previous, List<FinancialLogEntry.Snapshot> current) {
+        SortedSet<Member> lost = new TreeSet<>(Member.ORDER);
+        for (int i = 0; i < previous.size(); i++) {
+            Member before = Member.of(previous.get(i));
+            if (before != null && !before.equals(Member.of(current.get(i)))) {
+                lost.add(before);
+            }
+        }
+        add(current);
+        rebuild(lost);
+    }
+
+    /**
+     * Recomputes the sketches of the given members' settle dates and categories from the entry table.
+     * <p>
+     * The sketch rows are locked before the entries are read, so a concurrent add either commits before the entries
+     * are read or waits and is merged into the rebuilt sketch.
+     */
+    void rebuild(Collection<Member> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        SortedSet<Member> keys = new TreeSet<>(Member.KEY_ORDER);
+        keys.addAll(members);
+        String[] settleDates = keys.stream().map(member -> member.settleDate().toString()).toArray(String[]::new);
+        String[] categories = keys.stream().map(member -> member.category().name()).toArray(String[]::new);
+
+        jdbcTemplate.query(LOCK_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("text", settleDates));
+            ps.setArray(2, connection.createArrayOf("text", categories));
+        }, rs -> {});
+        jdbcTemplate.update(REBUILD_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf(
+                    "varchar", CalculateFinancialLogTotals.ORDER_REFERENCE_TYPES.toArray()));
+            ps.setArray(2, connection.createArrayOf("text", settleDates));
+            ps.setArray(3, connection.createArrayOf("text", categories));
+        });
+    }
+
+    /**
+     * Estimates the number of distinct order references in the settle date range and category, each optional.
+     */
+    long estimateOrders(LocalDate settleDateFrom, LocalDate settleDateTo, FinancialLogApi.Category category) {
+        String categoryName = category != null ? category.name() : null;
+        short[] registers = jdbcTemplate.query(UNION_SQL, ps -> {
+            ps.setObject(1, settleDateFrom);
+            ps.setObject(2, settleDateFrom);
+            ps.setObject(3, settleDateTo);
+            ps.setObject(4, settleDateTo);
+            ps.setString(5, categoryName);
+            ps.setString(6, categoryName);
+        }, rs -> rs.next() ? toRegisters(rs.getArray(1)) : null);
+        return registers != null ? estimate(registers) : 0;
+    }
+
+    /**
+     * HyperLogLog estimate, with linear counting for small cardinalities where the raw estimate is biased. The
+     * hashes have 64 bits, so no large range correction is needed.
+     */
+    static long estimate(short[] registers) {
+        double sum = 0;
+        int zeros = 0;
+        for (short register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double raw = ALPHA * REGISTERS * REGISTERS / sum;
+        if (raw <= 2.5 * REGISTERS && zeros > 0) {
+            return Math.round(REGISTERS * Math.log((double) REGISTERS / zeros));
+        }
+        return Math.round(raw);
+    }
+
+    private static short[] toRegisters(Array array) throws SQLException {
+        if (array == null) {
+            return null;
+        }
+        Short[] values = (Short[]) array.getArray();
+        short[] registers = new short[values.length];
+        for (int i = 0; i < values.length; i++) {
+            registers[i] = values[i];
+        }
+        return registers;
+    }
+
+    private static String[] mapToArray(List<Member> members, Function<Member, String> mapper) {
+        return members.stream().map(mapper).toArray(String[]::new);
+    }
+
+    /**
+     * Order reference of an entry, with the settle date and category of the sketch it belongs to.
+     */
+    record Member(LocalDate settleDate, FinancialLogApi.Category category, String referenceId) {
+        private static final Comparator<Member> KEY_ORDER =
+                Comparator.comparing(Member::settleDate).thenComparing(Member::category);
+        private static final Comparator<Member> ORDER = KEY_ORDER.thenComparing(Member::referenceId);
+
+        /**
+         * @return the entry's member, or {@code null} when the entry does not count as an order
+         */
+        static Member of(FinancialLogEntry.Snapshot entry) {
+            return of(entry.settleDate(), entry.category(), entry.status(), entry.reference());
+        }
+
+        static Member of(
+                LocalDate settleDate,
+                FinancialLogApi.Category category,
+                FinancialLogApi.Status status,
+                FinancialLogApi.Reference reference) {
+            return status == FinancialLogApi.Status.ACCEPTED
+                            && reference != null
+                            && CalculateFinancialLogTotals.ORDER_REFERENCE_TYPES.contains(reference.type())
+                    ? new Member(settleDate, category, reference.id())
+                    : null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read queries of a single request concurrently, each on its own connection.
+ * <p>
+ * Tasks are executed outside the caller's transaction, so only read-only queries may be submitted. When the pool and
+ * its queue are saturated the task runs in the caller thread, which degrades to sequential execution instead of
+ * failing the request.
+ * <p>
+ * Deliberately not exposed as an {@link java.util.concurrent.Executor} bean, so it never replaces the executor used
+ * for {@code @Async} message listeners.
+ */
+@Component
+class FinancialLogQueryExecutor {
+    private final ThreadPoolExecutor executor;
+
+    FinancialLogQueryExecutor(@Value("${financial-log.query-executor.pool-size:4}") int poolSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "financial-log-query-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, executor);
+    }
+
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,71 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds entries by many references with one join per chunk instead of an OR of per-reference comparisons.
+ * <p>
+ * The references are bound as three parallel arrays and expanded with {@code unnest}, so the statement text does not
+ * depend on the number of references and every reference is an index lookup on
+ * {@code (reference_id, reference_type)}. Large inputs are split into chunks to bound the size of the bound arrays.
+ * A reference without a business id matches entries without one.
+ */
+@Repository
+class FinancialLogReferenceLookup {
+    private static final String FIND_BY_REFERENCES_SQL =
+            """
+            SELECT e.*
+            FROM unnest(CAST(?1 AS varchar[]), CAST(?2 AS varchar[]), CAST(?3 AS varchar[]))
+                    AS r(reference_id, reference_type, reference_business_id)
+            JOIN financial_log.financial_log_entry e
+                ON e.reference_id = r.reference_id
+                    AND e.reference_type = r.reference_type
+                    AND e.reference_business_id IS NOT DISTINCT FROM r.reference_business_id
+            """;
+
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    FinancialLogReferenceLookup(
+            EntityManager entityManager, @Value("${financial-log.reference-lookup.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    List<FinancialLogEntry> findByReferences(Set<FinancialLogApi.Reference> references) {
+        List<FinancialLogApi.Reference> distinct = List.copyOf(references);
+        List<FinancialLogEntry> found = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            found.addAll(findChunk(distinct.subList(from, Math.min(from + chunkSize, distinct.size()))));
+        }
+        return found;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FinancialLogEntry> findChunk(List<FinancialLogApi.Reference> chunk) {
+        int size = chunk.size();
+        String[] ids = new String[size];
+        String[] types = new String[size];
+        String[] businessIds = new String[size];
+        for (int i = 0; i < size; i++) {
+            FinancialLogApi.Reference reference = chunk.get(i);
+            ids[i] = reference.id();
+            types[i] = reference.type();
+            businessIds[i] = reference.businessId();
+        }
+
+        return entityManager.createNativeQuery(FIND_BY_REFERENCES_SQL, FinancialLogEntry.class)
+                .setParameter(1, ids)
+                .setParameter(2, types)
+                .setParameter(3, businessIds)
+                .getResultList();
+    }
+}
@@ -0,0 +1,138 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.specification.GroupingSetsFunctionContributor;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the totals of the filtered entries for several groupings with one {@code GROUP BY GROUPING SETS} query,
+ * so the entries are filtered and read once no matter how many groupings and subtotals are requested.
+ * <p>
+ * Rows are told apart by {@code grouping(...)} over all requested dimensions rather than by {@code null} values, so
+ * a group of entries without a value is not mistaken for a subtotal.
+ */
+@Repository
+@RequiredArgsConstructor
+class FinancialLogReportQuery {
+    private static final String MONEY_CURRENCY = "currency";
+
+    private final EntityManager entityManager;
+    private final FinancialLogTagDictionary financialLogTagDictionary;
+
+    List<FinancialLogApi.FinancialLogReportRow> report(FinancialLogApi.FinancialLogReportRequest request) {
+        var cb = entityManager.getCriteriaBuilder();
+        var cq = cb.createTupleQuery();
+        var root = cq.from(FinancialLogEntry.class);
+
+        // every dimension used by any grouping, in declaration order
+        EnumSet<FinancialLogApi.ReportDimension> used = EnumSet.noneOf(FinancialLogApi.ReportDimension.class);
+        request.groupings().forEach(used::addAll);
+        List<FinancialLogApi.ReportDimension> dimensions = List.copyOf(used);
+        Map<FinancialLogApi.ReportDimension, Expression<?>> expressions =
+                new EnumMap<>(FinancialLogApi.ReportDimension.class);
+        dimensions.forEach(dimension -> expressions.put(dimension, expression(dimension, root, cb)));
+
+        Expression<BigDecimal> aedAmount = root.get(FinancialLogEntry.AED_AMOUNT);
+        Expression<BigDecimal> income = cb.<BigDecimal>selectCase()
+                .when(cb.greaterThanOrEqualTo(aedAmount, BigDecimal.ZERO), aedAmount)
+                .otherwise(BigDecimal.ZERO);
+        Expression<BigDecimal> cost = cb.<BigDecimal>selectCase()
+                .when(cb.lessThan(aedAmount, BigDecimal.ZERO), aedAmount)
+                .otherwise(BigDecimal.ZERO);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(cb.coalesce(cb.sum(income), BigDecimal.ZERO));
+        selections.add(cb.coalesce(cb.sum(cost), BigDecimal.ZERO));
+        selections.add(cb.count(root));
+        if (!dimensions.isEmpty()) {
+            selections.add(cb.function(
+                    GroupingSetsFunctionContributor.GROUPING_MASK,
+                    Integer.class,
+                    expressions.values().toArray(Expression<?>[]::new)));
+            selections.addAll(expressions.values());
+        }
+
+        Expression<?>[] groupingSets = request.groupings().stream()
+                .map(grouping -> cb.function(
+                        GroupingSetsFunctionContributor.GROUPING_SET,
+                        Object.class,
+                        dimensions.stream()
+                                .filter(grouping::contains)
+                                .map(expressions::get)
+                                .toArray(Expression<?>[]::new)))
+                .toArray(Expression<?>[]::new);
+
+        cq.multiselect(selections)
+                .where(new FinancialLogEntrySpecification(request.filters(), financialLogTagDictionary)
+                        .toPredicate(root, cq, cb))
+                .groupBy(cb.function(GroupingSetsFunctionContributor.GROUPING_SETS, Object.class, groupingSets));
+
+        return entityManager.createQuery(cq).getResultList().stream()
+                .map(tuple -> toRow(tuple, dimensions))
+                .toList();
+    }
+
+    private static Expression<?> expression(
+            FinancialLogApi.ReportDimension dimension, Root<FinancialLogEntry> root, CriteriaBuilder cb) {
+        return switch (dimension) {
+            case CATEGORY -> root.get(FinancialLogEntry.CATEGORY);
+            case SOURCE -> root.get(FinancialLogEntry.SOURCE);
+            case STATUS -> root.get(FinancialLogEntry.STATUS);
+            case SETTLE_MONTH -> cb.function(
+                    GroupingSetsFunctionContributor.MONTH_START,
+                    LocalDate.class,
+                    root.get(FinancialLogEntry.SETTLE_DATE));
+            case CURRENCY -> root.get(FinancialLogEntry.MONEY).get(MONEY_CURRENCY);
+        };
+    }
+
+    private static FinancialLogApi.FinancialLogReportRow toRow(
+            Tuple tuple, List<FinancialLogApi.ReportDimension> dimensions) {
+        BigDecimal income = tuple.get(0, BigDecimal.class);
+        BigDecimal cost = tuple.get(1, BigDecimal.class);
+        long count = tuple.get(2, Long.class);
+
+        // grouping(...) sets the bit of every dimension that is not grouped, the first dimension highest
+        int notGrouped = dimensions.isEmpty() ? 0 : tuple.get(3, Integer.class);
+        Set<FinancialLogApi.ReportDimension> grouping = EnumSet.noneOf(FinancialLogApi.ReportDimension.class);
+        Map<FinancialLogApi.ReportDimension, Object> values = new EnumMap<>(FinancialLogApi.ReportDimension.class);
+        for (int i = 0; i < dimensions.size(); i++) {
+            if ((notGrouped & (1 << (dimensions.size() - 1 - i))) == 0) {
+                grouping.add(dimensions.get(i));
+                values.put(dimensions.get(i), tuple.get(4 + i));
+            }
+        }
+
+        LocalDate settleMonth = (LocalDate) values.get(FinancialLogApi.ReportDimension.SETTLE_MONTH);
+        return new FinancialLogApi.FinancialLogReportRow(
+                Set.copyOf(grouping),
+                (FinancialLogApi.Category) values.get(FinancialLogApi.ReportDimension.CATEGORY),
+                (FinancialLogApi.Source) values.get(FinancialLogApi.ReportDimension.SOURCE),
+                (FinancialLogApi.Status) values.get(FinancialLogApi.ReportDimension.STATUS),
+                settleMonth != null ? YearMonth.from(settleMonth) : null,
+                (CurrencyCode) values.get(FinancialLogApi.ReportDimension.CURRENCY),
+                income,
+                cost,
+                income.add(cost),
+                count);
+    }
+}
@@ -1,118 +1,381 @@
 package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
 
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.utils.CollectionUtils;
 import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
 import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
 import codeyourbrand.javainterview.financiallog.domain.FinancialLogHistory;
-import codeyourbrand.javainterview.financiallog.domain.Reference;
-import jakarta.persistence.EntityManager;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.util.Pair;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Repository("newFinancialLogRepository")
 @RequiredArgsConstructor
 public class FinancialLogRepository {
     private final FinancialLogEntryRepository financialLogEntryRepository;
     private final CalculateFinancialLogTotals calculateFinancialLogTotals;
-    private final FinancialLogHistoryRepository financialLogHistoryRepository;
-    private final EntityManager entityManager;
+    private final FinancialLogHistoryArchive financialLogHistoryArchive;
+    private final FinancialLogDailyRollupRepository financialLogDailyRollupRepository;
+    private final FinancialLogOrderSketchRepository financialLogOrderSketchRepository;
+    private final FinancialLogQueryExecutor financialLogQueryExecutor;
+    private final FinancialLogExportQuery financialLogExportQuery;
+    private final FinancialLogReportQuery financialLogReportQuery;
+    private final FinancialLogEntryBulkInsert financialLogEntryBulkInsert;
+    private final FinancialLogEntryBulkAccept financialLogEntryBulkAccept;
+    private final FinancialLogHistoryBulkInsert financialLogHistoryBulkInsert;
+    private final FinancialLogNameSearch financialLogNameSearch;
+    private final FinancialLogReferenceLookup financialLogReferenceLookup;
+    private final FinancialLogEntryPartitions financialLogEntryPartitions;
+    private final FinancialLogTagDictionary financialLogTagDictionary;
+    private final JdbcTemplate jdbcTemplate;
 
     public List<UUID> saveAll(List<FinancialLogEntry> entries) {
         List<FinancialLogEntry> saved = financialLogEntryRepository.saveAll(entries);
+        List<FinancialLogEntry.Snapshot> snapshots = CollectionUtils.map(saved, FinancialLogEntry::toSnapshot);
+        financialLogDailyRollupRepository.add(snapshots);
+        financialLogOrderSketchRepository.add(snapshots);
         return saved.stream().map(FinancialLogEntry::toUuidOnly).toList();
     }
 
+    /**
+     * Inserts new entries in bulk, one statement per chunk, and adds them to the daily rollup and order sketches.
+     * <p>
+     * Unlike {@link #saveAll(List)} the given entities are not attached to the persistence context, the generated
+     * identifiers are returned instead.
+     *
+     * @param entries new FinancialLogEntries to insert
+     * @return generated uuid and sequence number of every inserted entry
+     */
+    public List<InsertedEntry> insertAll(List<FinancialLogEntry> entries) {
+        List<FinancialLogEntry.Snapshot> snapshots = CollectionUtils.map(entries, FinancialLogEntry::toSnapshot);
+        List<InsertedEntry> inserted = financialLogEntryBulkInsert.insertAll(snapshots);
+        financialLogDailyRollupRepository.add(snapshots);
+        financialLogOrderSketchRepository.add(snapshots);
+        return inserted;
+    }
+
     public List<FinancialLogEntry> findAllByUuids(@NonNull Set<UUID> uuids) {
         return financialLogEntryRepository.findAllByUuidIn(uuids);
     }
 
-    public void createHistory(Map<UUID, FinancialLogHistory.Snapshot> entryUuidToOldSnapshot) {
-        List<FinancialLogHistory> historyList =
-                financialLogEntryRepository.findAllByUuidIn(entryUuidToOldSnapshot.keySet()).stream()
-                        .map(entry -> FinancialLogHistory.create(entry, entryUuidToOldSnapshot.get(entry.toUuidOnly())))
-                        .toList();
-        financialLogHistoryRepository.saveAll(historyList);
+    /**
+     * Writes the history records with one multi-row insert, without loading the entries they belong to.
+     *
+     * @return uuids of entries that no longer exist, whose history records were skipped
+     */
+    public Set<UUID> createHistory(List<PendingHistory> history) {
+        Set<UUID> written = financialLogHistoryBulkInsert.insertAll(history);
+        Set<UUID> skipped = new HashSet<>();
+        for (PendingHistory pending : history) {
+            if (!written.contains(pending.financialLogUuid())) {
+                skipped.add(pending.financialLogUuid());
+            }
+        }
+        return skipped;
     }
 
+    /**
+     * Finds the requested page together with the totals of all matching entries.
+     * <p>
+     * The totals query also counts the matching entries, so the page is read as a slice without Spring Data's
+     * COUNT query. Both queries run concurrently on separate connections, so the latency follows the slower one.
+     */
     public PageWithTotals findPageWithTotals(FinancialLogApi.GetFinancialLogFiltersRequest request) {
-        FinancialLogEntrySpecification financialLogEntrySpecification = new FinancialLogEntrySpecification(request);
-        CalculateFinancialLogTotals.IncomeCostAndProfit incomeCostAndProfit =
-                calculateFinancialLogTotals.calculateIncomeCostAndProfit(financialLogEntrySpecification);
+        financialLogNameSearch.checkNameFilter(request);
+        FinancialLogEntrySpecification financialLogEntrySpecification =
+                new FinancialLogEntrySpecification(request, financialLogTagDictionary);
+        CompletableFuture<CalculateFinancialLogTotals.IncomeCostAndProfit> totals =
+                financialLogQueryExecutor.submit(() -> calculateFinancialLogTotals.calculateIncomeCostAndProfit(request));
+
+        Slice<FinancialLogEntry> slice = getFinancialLogSlice(request, financialLogEntrySpecification);
 
-        Page<FinancialLogEntry> page = getFinancialLogPage(request, financialLogEntrySpecification);
+        CalculateFinancialLogTotals.IncomeCostAndProfit incomeCostAndProfit = FinancialLogQueryExecutor.join(totals);
+        Page<FinancialLogEntry> page =
+                new PageImpl<>(slice.getContent(), slice.getPageable(), incomeCostAndProfit.count());
 
         return new PageWithTotals(
                 page, incomeCostAndProfit.income(), incomeCostAndProfit.cost(), incomeCostAndProfit.profit());
     }
 
-    private Page<FinancialLogEntry> getFinancialLogPage(
+    private Slice<FinancialLogEntry> getFinancialLogSlice(
             FinancialLogApi.GetFinancialLogFiltersRequest request, FinancialLogEntrySpecification financialLogEntrySpecification) {
         Sort sort = Sort.by(request.getSortDirection(), request.getSortBy().getValue());
-        return financialLogEntryRepository.findAll(financialLogEntrySpecification, request.getPageRequest(sort));
+        return financialLogEntryRepository.findBy(
+                financialLogEntrySpecification, query -> query.slice(request.getPageRequest(sort)));
     }
 
-    public void acceptDrafts(List<UUID> uuids) {
-        financialLogEntryRepository.changeStatus(FinancialLogApi.Status.ACCEPTED, uuids);
+    /**
+     * Finds the next window of entries using keyset pagination: the request's continuation token is turned into a
+     * seek predicate on {@code (sortBy value, sequence_number, uuid)}, so no rows are skipped by OFFSET and no COUNT
+     * query is executed.
+     */
+    public EntryWindow findWindow(FinancialLogApi.GetFinancialLogFiltersRequest request) {
+        financialLogNameSearch.checkNameFilter(request);
+        KeysetScrollPosition position = FinancialLogContinuationToken.decode(request);
+        Window<FinancialLogEntry> window = financialLogEntryRepository.findBy(
+                new FinancialLogEntrySpecification(request, financialLogTagDictionary),
+                query -> query.sortBy(FinancialLogContinuationToken.sortOf(request))
+                        .limit(request.getSize())
+                        .scroll(position));
+
+        String continuationToken = window.hasNext() && !window.isEmpty()
+                ? FinancialLogContinuationToken.encode(request, window.getContent().getLast().toSnapshot())
+                : null;
+        return new EntryWindow(window.getContent(), continuationToken);
     }
 
+    /**
+     * Finds the entries best matching the request's name, most relevant first, limited to the request's page size and
+     * a configured maximum.
+     */
+    public List<FinancialLogEntry> searchByName(FinancialLogApi.GetFinancialLogFiltersRequest request) {
+        return financialLogNameSearch.search(request);
+    }
+
+    /**
+     * Streams every entry matching the filters to the consumer over a forward-only cursor with a bounded fetch size.
+     * Must be called inside a transaction.
+     */
+    public void forEachExportRow(
+            FinancialLogApi.GetFinancialLogFiltersRequest request, Consumer<ExportRow> consumer) {
+        financialLogExportQuery.forEachRow(request, consumer);
+    }
+
+    /**
+     * Computes the totals of the filtered entries for every requested grouping with a single GROUPING SETS query.
+     */
+    public List<FinancialLogApi.FinancialLogReportRow> getReport(FinancialLogApi.FinancialLogReportRequest request) {
+        return financialLogReportQuery.report(request);
+    }
+
+    /**
+     * Accepts the entries that are still drafts, in chunks of set-based updates, and moves them from DRAFT to ACCEPTED
+     * in the daily rollup and adds their orders to the order sketches. Every chunk is committed in its own
+     * transaction, together with its rollup and sketch changes and whatever {@code chunkAccepted} does. Entries that
+     * do not exist or are not drafts are left untouched.
+     *
+     * @param uuids         uuids of the entries to accept
+     * @param chunkAccepted called in each chunk's transaction with the snapshots of the chunk's accepted entries
+     * @return uuids of the accepted entries
+     */
+    public Set<UUID> acceptDrafts(List<UUID> uuids, Consumer<List<FinancialLogEntry.Snapshot>> chunkAccepted) {
+        return financialLogEntryBulkAccept.acceptDrafts(uuids, accepted -> {
+            var rollupChanges = new FinancialLogDailyRollupRepository.Changes();
+            accepted.forEach(entry -> rollupChanges
+                    .remove(entry)
+                    .add(
+                            entry.settleDate(),
+                            entry.category(),
+                            FinancialLogApi.Status.ACCEPTED,
+                            entry.source(),
+                            entry.aedAmount()));
+            financialLogDailyRollupRepository.apply(rollupChanges);
+            financialLogOrderSketchRepository.addAccepted(accepted);
+            chunkAccepted.accept(accepted);
+        });
+    }
+
+    /**
+     * Deletes the entries and subtracts them from the daily rollup and order sketches using the rows returned by the
+     * DELETE itself, so the entries do not have to be loaded first.
+     * <p>
+     * The hot and archived history is deleted by separate statements, the partitioned entry table cannot be
+     * referenced by a foreign key that would cascade. The DELETE of the entries waits for history inserts holding
+     * their {@code KEY SHARE} lock, so the later statements also see the history those inserts wrote.
+     * <p>
+     * Only uuids are given, so the DELETE cannot be pruned to the entries' partitions and probes the primary key of
+     * every partition.
+     */
     public void delete(List<UUID> uuids) {
-        financialLogEntryRepository.deleteByUuidIn(uuids);
+        var rollupChanges = new FinancialLogDailyRollupRepository.Changes();
+        List<FinancialLogOrderSketchRepository.Member> orders = new ArrayList<>();
+        jdbcTemplate.query(
+                DELETE_RETURNING_ROLLUP_DIMENSIONS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", uuids.toArray())),
+                rs -> {
+                    LocalDate settleDate = rs.getObject("settle_date", LocalDate.class);
+                    FinancialLogApi.Category category = FinancialLogApi.Category.valueOf(rs.getString("category"));
+                    FinancialLogApi.Status status = FinancialLogApi.Status.valueOf(rs.getString("status"));
+                    rollupChanges.remove(
+                            settleDate,
+                            category,
+                            status,
+                            FinancialLogApi.Source.valueOf(rs.getString("source")),
+                            rs.getBigDecimal("aed_amount"));
+                    String referenceId = rs.getString("reference_id");
+                    var order = FinancialLogOrderSketchRepository.Member.of(
+                            settleDate,
+                            category,
+                            status,
+                            referenceId != null
+                                    ? new FinancialLogApi.Reference(referenceId, rs.getString("reference_type"), null)
+                                    : null);
+                    if (order != null) {
+                        orders.add(order);
+                    }
+                });
+        financialLogHistoryArchive.deleteHistory(uuids);
+        financialLogDailyRollupRepository.apply(rollupChanges);
+        financialLogOrderSketchRepository.rebuild(orders);
     }
 
+    private static final String DELETE_RETURNING_ROLLUP_DIMENSIONS_SQL =
+            """
+            DELETE FROM financial_log.financial_log_entry
+            WHERE uuid = ANY (?)
+            RETURNING settle_date, category, status, source, aed_amount, reference_id, reference_type
+            """;
+
     /**
-     * Saves the given FinancialLogEntry and refreshes it from the database to ensure the sequence number has been fetched.
+     * Detaches the entry partitions of all months before the given one for archiving. The entries are no longer
+     * found by any query, and the months' daily rollup and order sketch rows are deleted with them.
+     *
+     * @return names of the detached tables, which keep the entries until they are dropped
+     */
+    public List<String> detachEntryPartitionsBefore(YearMonth month) {
+        return financialLogEntryPartitions.detachPartitionsBefore(month);
+    }
+
+    /**
+     * Saves the given FinancialLogEntry and flushes it, so the insert runs right away.
      * <p>
-     * The reason to use entityManager.refresh is that the sequence number is generated in the database upon insert,
-     * that's why we need to refresh the entity after saving it otherwise the sequence number will be always null for newly saved entity.
+     * The sequence number is generated in the database upon insert. It is mapped as a generated value, so Hibernate
+     * reads it back with {@code INSERT ... RETURNING} in the same statement instead of a separate refresh.
      *
      * @param logEntry new FinancialLogEntry to save
      * @return the saved FinancialLogEntry with updated fields
      */
     public FinancialLogEntry save(FinancialLogEntry logEntry) {
         FinancialLogEntry saved = financialLogEntryRepository.saveAndFlush(logEntry);
-        entityManager.refresh(saved);
+        List<FinancialLogEntry.Snapshot> snapshots = List.of(saved.toSnapshot());
+        financialLogDailyRollupRepository.add(snapshots);
+        financialLogOrderSketchRepository.add(snapshots);
+        return saved;
+    }
+
+    /**
+     * Saves the updated FinancialLogEntry and moves its contribution in the daily rollup and order sketches from the
+     * previous state to the current one.
+     *
+     * @param previous state of the entry before the update
+     * @param logEntry updated FinancialLogEntry to save
+     * @return the saved FinancialLogEntry with updated fields
+     */
+    public FinancialLogEntry update(FinancialLogEntry.Snapshot previous, FinancialLogEntry logEntry) {
+        FinancialLogEntry saved = financialLogEntryRepository.saveAndFlush(logEntry);
+        FinancialLogEntry.Snapshot current = saved.toSnapshot();
+        financialLogDailyRollupRepository.apply(
+                new FinancialLogDailyRollupRepository.Changes().remove(previous).add(current));
+        financialLogOrderSketchRepository.replace(List.of(previous), List.of(current));
+        return saved;
+    }
+
+    /**
+     * Saves many updated FinancialLogEntries with one flush, so Hibernate writes them as batched UPDATE statements,
+     * and applies all their daily rollup changes with a single upsert and their order changes to the order sketches.
+     *
+     * @param previous states of the entries before the update, in the order of {@code logEntries}
+     * @param logEntries updated FinancialLogEntries to save
+     * @return the saved FinancialLogEntries
+     */
+    public List<FinancialLogEntry> updateAll(
+            List<FinancialLogEntry.Snapshot> previous, List<FinancialLogEntry> logEntries) {
+        List<FinancialLogEntry> saved = financialLogEntryRepository.saveAllAndFlush(logEntries);
+        List<FinancialLogEntry.Snapshot> current = CollectionUtils.map(saved, FinancialLogEntry::toSnapshot);
+        FinancialLogDailyRollupRepository.Changes changes = new FinancialLogDailyRollupRepository.Changes();
+        previous.forEach(changes::remove);
+        current.forEach(changes::add);
+        financialLogDailyRollupRepository.apply(changes);
+        financialLogOrderSketchRepository.replace(previous, current);
         return saved;
     }
 
-    public Pair<FinancialLogEntry, List<FinancialLogHistory>> findByUuidWithHistory(UUID uuid) {
+    /**
+     * Finds the entry together with its history from both the hot and the archive table, newest first.
+     */
+    public Pair<FinancialLogEntry, List<FinancialLogHistory.Snapshot>> findByUuidWithHistory(UUID uuid) {
         FinancialLogEntry financialLogEntry =
                 financialLogEntryRepository.findById(uuid).orElseThrow(NoSuchElementException::new);
-        List<FinancialLogHistory> history =
-                financialLogHistoryRepository.findByFinancialLogUuidOrderByCreatedAtDesc(uuid);
+        List<FinancialLogHistory.Snapshot> history = financialLogHistoryArchive.findHistory(uuid);
 
         return Pair.of(financialLogEntry, history);
     }
 
+    /**
+     * Loads the entry by uuid alone. Without its settle date the lookup is not pruned and probes the primary key
+     * {@code (uuid, settle_date)} of every partition, one index descent per month. Updates of the loaded entry are
+     * pruned, as {@link FinancialLogEntry} maps {@code settle_date} as partition key.
+     */
     public FinancialLogEntry findByUuid(UUID uuid) {
         return financialLogEntryRepository.findById(uuid).orElseThrow(NoSuchElementException::new);
     }
 
-    public List<FinancialLogHistory> findHistoriesByFinancialLogUuids(@NonNull UUID uuids) {
-        return financialLogHistoryRepository.findByFinancialLogUuidOrderByCreatedAtDesc(uuids);
+    /**
+     * Finds the history of the entry from both the hot and the archive table, newest first.
+     */
+    public List<FinancialLogHistory.Snapshot> findHistoriesByFinancialLogUuids(@NonNull UUID uuids) {
+        return financialLogHistoryArchive.findHistory(uuids);
     }
 
+    /**
+     * Finds the entries of the given references with an index-backed join, in chunks for large inputs.
+     */
     public List<FinancialLogEntry> findFinancialLogsByReferences(@NonNull Set<FinancialLogApi.Reference> references) {
-        return financialLogEntryRepository.findByReferences(mapToReferenceRepositoryType(references));
+        return financialLogReferenceLookup.findByReferences(references);
     }
 
-    private static Set<Reference> mapToReferenceRepositoryType(Set<FinancialLogApi.Reference> references) {
-        return references.stream()
-                .map(ref -> new Reference(ref.id(), ref.type(), ref.businessId()))
-                .collect(Collectors.toSet());
-    }
+    public record InsertedEntry(UUID uuid, Long sequenceNumber) {}
+
+    /**
+     * History record waiting to be written: the old state of the entry and the time its change happened.
+     */
+    public record PendingHistory(
+            UUID financialLogUuid, FinancialLogHistory.Snapshot snapshot, LocalDateTime createdAt) {}
+
+    /**
+     * Flat export projection of a FinancialLogEntry, read column by column without hydrating the entity.
+     */
+    public record ExportRow(
+            UUID uuid,
+            Long sequenceNumber,
+            String name,
+            FinancialLogApi.Status status,
+            FinancialLogApi.Category category,
+            FinancialLogApi.Source source,
+            LocalDate settleDate,
+            BigDecimal amount,
+            CurrencyCode currency,
+            BigDecimal aedAmount,
+            String referenceId,
+            String referenceType,
+            String referenceBusinessId,
+            Set<String> tags,
+            String notes,
+            LocalDateTime createdAt) {}
+
+    public record EntryWindow(List<FinancialLogEntry> entries, String continuationToken) {}
 
     public record PageWithTotals(Page<FinancialLogEntry> page, BigDecimal income, BigDecimal cost, BigDecimal profit) {}
 
     public FinancialLogApi.DailySummaryResponse getDailySummary(FinancialLogApi.GetFinancialLogFiltersRequest request) {
-        var specification = new FinancialLogEntrySpecification(request);
-        var summary = calculateFinancialLogTotals.calculateFinancialSummary(specification);
-        return new FinancialLogApi.DailySummaryResponse(summary.revenue(), summary.profit(), summary.orders());
+        var summary = calculateFinancialLogTotals.calculateFinancialSummary(request);
+        return new FinancialLogApi.DailySummaryResponse(
+                summary.revenue(), summary.profit(), summary.orders(), summary.ordersRelativeError());
     }
 }
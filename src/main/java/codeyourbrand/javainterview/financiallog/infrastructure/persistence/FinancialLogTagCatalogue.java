@@ -0,0 +1,119 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogTag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * In-memory catalogue of {@code financial_log_tag}, grouped by category.
+ * <p>
+ * Reads are served from an immutable {@link TagsByCategory} snapshot. Every change made through the catalogue
+ * rebuilds the snapshot from the table once its transaction commits, and a periodic reload picks up changes made by
+ * other instances. Readers never see a partially rebuilt catalogue.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FinancialLogTagCatalogue {
+    private final FinancialLogTagRepository financialLogTagRepository;
+    private volatile TagsByCategory tags;
+
+    public TagsByCategory getTags() {
+        TagsByCategory current = tags;
+        if (current == null) {
+            synchronized (this) {
+                current = tags;
+                if (current == null) {
+                    current = TagsByCategory.of(financialLogTagRepository.findAll());
+                    tags = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public FinancialLogTag.Snapshot create(String name, FinancialLogApi.Category category) {
+        FinancialLogTag saved = financialLogTagRepository.saveAndFlush(new FinancialLogTag(name, category));
+        reloadAfterCommit();
+        return saved.toSnapshot();
+    }
+
+    public FinancialLogTag.Snapshot update(UUID uuid, String name, FinancialLogApi.Category category) {
+        FinancialLogTag tag = financialLogTagRepository.findById(uuid).orElseThrow(NoSuchElementException::new);
+        FinancialLogTag saved = financialLogTagRepository.saveAndFlush(tag.rename(name, category));
+        reloadAfterCommit();
+        return saved.toSnapshot();
+    }
+
+    /**
+     * Rebuilds the snapshot from the table. Reloads are serialized, so a reload that read the table earlier can not
+     * replace the snapshot of a later one, e.g. the scheduled reload the snapshot of a just committed change.
+     */
+    @Scheduled(fixedDelayString = "${financial-log.tag-catalogue.refresh-interval:PT5M}")
+    public synchronized void reload() {
+        tags = TagsByCategory.of(financialLogTagRepository.findAll());
+    }
+
+    private void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    /**
+     * Immutable snapshot of all tags. Tags of a category are sorted by name, ready to be shown in a dropdown.
+     */
+    public static final class TagsByCategory {
+        private final Map<FinancialLogApi.Category, List<FinancialLogTag.Snapshot>> byCategory;
+        private final Map<FinancialLogApi.Category, Map<String, FinancialLogTag.Snapshot>> byCategoryAndName;
+
+        private TagsByCategory(
+                Map<FinancialLogApi.Category, List<FinancialLogTag.Snapshot>> byCategory,
+                Map<FinancialLogApi.Category, Map<String, FinancialLogTag.Snapshot>> byCategoryAndName) {
+            this.byCategory = byCategory;
+            this.byCategoryAndName = byCategoryAndName;
+        }
+
+        static TagsByCategory of(List<FinancialLogTag> tags) {
+            Map<FinancialLogApi.Category, List<FinancialLogTag.Snapshot>> byCategory =
+                    new EnumMap<>(FinancialLogApi.Category.class);
+            Map<FinancialLogApi.Category, Map<String, FinancialLogTag.Snapshot>> byCategoryAndName =
+                    new EnumMap<>(FinancialLogApi.Category.class);
+            for (FinancialLogApi.Category category : FinancialLogApi.Category.values()) {
+                byCategory.put(category, new ArrayList<>());
+                byCategoryAndName.put(category, new HashMap<>());
+            }
+            for (FinancialLogTag tag : tags) {
+                FinancialLogTag.Snapshot snapshot = tag.toSnapshot();
+                byCategory.get(snapshot.category()).add(snapshot);
+                byCategoryAndName.get(snapshot.category()).put(snapshot.name(), snapshot);
+            }
+            byCategory.replaceAll((category, snapshots) -> snapshots.stream()
+                    .sorted(Comparator.comparing(FinancialLogTag.Snapshot::name))
+                    .toList());
+            byCategoryAndName.replaceAll((category, names) -> Map.copyOf(names));
+            return new TagsByCategory(
+                    Collections.unmodifiableMap(byCategory), Collections.unmodifiableMap(byCategoryAndName));
+        }
+
+        public Map<FinancialLogApi.Category, List<FinancialLogTag.Snapshot>> byCategory() {
+            return byCategory;
+        }
+
+        public Optional<FinancialLogTag.Snapshot> find(FinancialLogApi.Category category, String name) {
+            return Optional.ofNullable(byCategoryAndName.get(category).get(name));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogTagCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared dictionary between tag names and the integer ids stored in the {@code tag_ids} columns.
+ * <p>
+ * The {@code financial_log_tag_dictionary} table is loaded into memory at startup, so encoding and decoding never
+ * query the database once a name is known. Unknown names are registered in the caller's transaction, and ids read
+ * from the database within a transaction are only added to the shared maps after it commits, so an id is never
+ * handed out for a name that is rolled back later. Every decoded name is the same shared String instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class FinancialLogTagDictionary implements FinancialLogTagCodec {
+    private static final String SELECT_ALL_SQL = "SELECT id, name FROM financial_log.financial_log_tag_dictionary";
+    private static final String SELECT_BY_IDS_SQL =
+            "SELECT id, name FROM financial_log.financial_log_tag_dictionary WHERE id = ANY(?)";
+    private static final String SELECT_BY_NAMES_SQL =
+            "SELECT id, name FROM financial_log.financial_log_tag_dictionary WHERE name = ANY(?)";
+    private static final String REGISTER_SQL =
+            """
+            INSERT INTO financial_log.financial_log_tag_dictionary (name)
+            SELECT unnest(?::varchar[])
+            ON CONFLICT (name) DO NOTHING
+            RETURNING id, name
+            """;
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        jdbcTemplate.query(SELECT_ALL_SQL, (RowCallbackHandler) rs -> put(rs.getString("name"), rs.getInt("id")));
+    }
+
+    @Override
+    public int[] encode(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return NO_IDS;
+        }
+        List<String> unknown = names.stream().distinct().filter(name -> !ids.containsKey(name)).toList();
+        if (unknown.isEmpty()) {
+            return lookup(names);
+        }
+        Map<String, Integer> registered = register(unknown);
+        return names.stream().distinct().map(name -> registered.getOrDefault(name, ids.get(name)))
+                .filter(Objects::nonNull).mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Looks up the ids of the names in the dictionary, in ascending order, without registering any. Names missing
+     * from memory are read from the table, as another instance may have registered them. Unknown names are skipped.
+     */
+    public int[] lookup(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return NO_IDS;
+        }
+        List<String> distinct = names.stream().distinct().toList();
+        List<String> missing = distinct.stream().filter(name -> !ids.containsKey(name)).toList();
+        Map<String, Integer> selected = new HashMap<>();
+        if (!missing.isEmpty()) {
+            selectByNames(missing, rs -> selected.put(rs.getString("name"), rs.getInt("id")));
+            publish(selected);
+        }
+        return distinct.stream().map(name -> selected.getOrDefault(name, ids.get(name))).filter(Objects::nonNull)
+                .mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    @Override
+    public Set<String> decode(int[] ids) {
+        if (ids == null || ids.length == 0) {
+            return Set.of();
+        }
+        Map<Integer, String> found = null;
+        String[] decoded = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            String name = names.get(ids[i]);
+            if (name == null) {
+                // registered by another instance or transaction since the dictionary was loaded
+                if (found == null) {
+                    found = select(ids);
+                }
+                name = found.get(ids[i]);
+                if (name == null) {
+                    throw new IllegalStateException("Unknown financial log tag id: " + ids[i]);
+                }
+            }
+            decoded[i] = name;
+        }
+        return Set.copyOf(Arrays.asList(decoded));
+    }
+
+    /**
+     * Inserts the names that are not in the table yet and reads the ids of the others with a second statement, which
+     * also sees names whose concurrent insert the first one waited for.
+     *
+     * @return ids of all the given names
+     */
+    private Map<String, Integer> register(List<String> unknown) {
+        Map<String, Integer> registered = new HashMap<>();
+        RowCallbackHandler collect = rs -> registered.put(rs.getString("name"), rs.getInt("id"));
+        jdbcTemplate.query(
+                REGISTER_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", unknown.toArray())),
+                collect);
+        List<String> existing = unknown.stream().filter(name -> !registered.containsKey(name)).toList();
+        if (!existing.isEmpty()) {
+            selectByNames(existing, collect);
+        }
+        publish(registered);
+        return registered;
+    }
+
+    private void selectByNames(List<String> names, RowCallbackHandler collect) {
+        jdbcTemplate.query(
+                SELECT_BY_NAMES_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", names.toArray())),
+                collect);
+    }
+
+    private Map<Integer, String> select(int[] ids) {
+        Map<String, Integer> selected = new HashMap<>();
+        jdbcTemplate.query(
+                SELECT_BY_IDS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("integer", Arrays.stream(ids).boxed().toArray())),
+                (RowCallbackHandler) rs -> selected.put(rs.getString("name"), rs.getInt("id")));
+        publish(selected);
+        Map<Integer, String> found = new HashMap<>();
+        selected.forEach((name, id) -> found.put(id, name));
+        return found;
+    }
+
+    /**
+     * Adds ids read from the database to the shared maps, after the commit when read within a transaction, as they
+     * may have been inserted by it.
+     */
+    private void publish(Map<String, Integer> read) {
+        if (read.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            read.forEach(this::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                read.forEach(FinancialLogTagDictionary.this::put);
+            }
+        });
+    }
+
+    private void put(String name, int id) {
+        names.putIfAbsent(id, name);
+        ids.putIfAbsent(names.get(id), id);
+    }
+
+    /**
+     * @return {@code {1,2,3}}, the text form of an int array, used to bind ragged arrays through {@code unnest}
+     */
+    static String toArrayLiteral(int[] ids) {
+        StringJoiner literal = new StringJoiner(",", "{", "}");
+        for (int id : ids) {
+            literal.add(Integer.toString(id));
+        }
+        return literal.toString();
+    }
+
+    static int[] toIds(Array array) throws SQLException {
+        Integer[] values = (Integer[]) array.getArray();
+        int[] ids = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ids[i] = values[i];
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,8 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+interface FinancialLogTagRepository extends JpaRepository<FinancialLogTag, UUID> {}
@@ -0,0 +1,22 @@
+CREATE TABLE financial_log.financial_log_daily_rollup
+(
+    settle_date date           NOT NULL,
+    category    VARCHAR(255)   NOT NULL,
+    status      VARCHAR(255)   NOT NULL,
+    source      VARCHAR(255)   NOT NULL,
+    income      DECIMAL(19, 2) NOT NULL,
+    cost        DECIMAL(19, 2) NOT NULL,
+    entry_count BIGINT         NOT NULL,
+    CONSTRAINT pk_financial_log_daily_rollup PRIMARY KEY (settle_date, category, status, source)
+);
+
+INSERT INTO financial_log.financial_log_daily_rollup (settle_date, category, status, source, income, cost, entry_count)
+SELECT settle_date,
+       category,
+       status,
+       source,
+       SUM(CASE WHEN aed_amount >= 0 THEN aed_amount ELSE 0 END),
+       SUM(CASE WHEN aed_amount < 0 THEN aed_amount ELSE 0 END),
+       COUNT(*)
+FROM financial_log.financial_log_entry
+GROUP BY settle_date, category, status, source;
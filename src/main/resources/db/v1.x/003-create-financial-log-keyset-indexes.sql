@@ -0,0 +1,6 @@
+-- Composite indexes matching the keyset scrolling order (sortBy value, sequence_number) of every SortBy option.
+CREATE UNIQUE INDEX idx_financial_log_entry_sequence_number ON financial_log.financial_log_entry (sequence_number);
+CREATE INDEX idx_financial_log_entry_settle_date_sequence_number ON financial_log.financial_log_entry (settle_date, sequence_number);
+CREATE INDEX idx_financial_log_entry_aed_amount_sequence_number ON financial_log.financial_log_entry (aed_amount, sequence_number);
+CREATE INDEX idx_financial_log_entry_name_sequence_number ON financial_log.financial_log_entry (name, sequence_number);
+CREATE INDEX idx_financial_log_entry_source_settle_date_sequence_number ON financial_log.financial_log_entry (source, settle_date, sequence_number);
@@ -0,0 +1,6 @@
+-- Tag names are unique within a category, the same name may be used in different categories.
+ALTER TABLE financial_log.financial_log_tag
+    DROP CONSTRAINT uc_financial_log_tag_name;
+
+ALTER TABLE financial_log.financial_log_tag
+    ADD CONSTRAINT uc_financial_log_tag_category_name UNIQUE (category, name);
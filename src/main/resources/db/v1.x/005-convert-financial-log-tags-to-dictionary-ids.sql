@@ -0,0 +1,47 @@
+-- Tags are stored as sorted integer arrays of ids of a shared dictionary instead of JSONB string arrays.
+CREATE TABLE financial_log.financial_log_tag_dictionary
+(
+    id   INTEGER      GENERATED ALWAYS AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_financial_log_tag_dictionary PRIMARY KEY (id),
+    CONSTRAINT uc_financial_log_tag_dictionary_name UNIQUE (name)
+);
+
+INSERT INTO financial_log.financial_log_tag_dictionary (name)
+SELECT name FROM financial_log.financial_log_tag
+UNION
+SELECT jsonb_array_elements_text(tags) FROM financial_log.financial_log_entry
+UNION
+SELECT jsonb_array_elements_text(tags) FROM financial_log.financial_log_history
+ORDER BY 1
+ON CONFLICT (name) DO NOTHING;
+
+ALTER TABLE financial_log.financial_log_entry
+    ADD COLUMN tag_ids INTEGER[] NOT NULL DEFAULT '{}';
+
+UPDATE financial_log.financial_log_entry e
+SET tag_ids = ARRAY(SELECT d.id
+                    FROM jsonb_array_elements_text(e.tags) t(name)
+                             JOIN financial_log.financial_log_tag_dictionary d ON d.name = t.name
+                    ORDER BY d.id)
+WHERE jsonb_array_length(e.tags) > 0;
+
+ALTER TABLE financial_log.financial_log_history
+    ADD COLUMN tag_ids INTEGER[] NOT NULL DEFAULT '{}';
+
+UPDATE financial_log.financial_log_history h
+SET tag_ids = ARRAY(SELECT d.id
+                    FROM jsonb_array_elements_text(h.tags) t(name)
+                             JOIN financial_log.financial_log_tag_dictionary d ON d.name = t.name
+                    ORDER BY d.id)
+WHERE jsonb_array_length(h.tags) > 0;
+
+DROP INDEX financial_log.idx_financial_log_entry_tags_gin;
+
+ALTER TABLE financial_log.financial_log_entry
+    DROP COLUMN tags;
+
+ALTER TABLE financial_log.financial_log_history
+    DROP COLUMN tags;
+
+CREATE INDEX idx_financial_log_entry_tag_ids_gin ON financial_log.financial_log_entry USING GIN (tag_ids);
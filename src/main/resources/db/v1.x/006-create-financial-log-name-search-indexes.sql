@@ -0,0 +1,4 @@
+-- Prefix name search: LIKE 'value%' on lower(name) in the "C" collation is a range scan of this index, which also
+-- returns the matches in name order. Substring and fuzzy search use idx_financial_log_entry_name_trgm.
+CREATE INDEX idx_financial_log_entry_name_prefix
+    ON financial_log.financial_log_entry ((lower(name) COLLATE "C"));
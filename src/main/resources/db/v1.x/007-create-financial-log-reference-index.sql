@@ -0,0 +1,4 @@
+-- Reference lookups join on (reference_id, reference_type). Entries without a reference are left out of the index.
+CREATE INDEX idx_financial_log_entry_reference
+    ON financial_log.financial_log_entry (reference_id, reference_type)
+    WHERE reference_id IS NOT NULL;
@@ -0,0 +1,52 @@
+-- HyperLogLog sketches of the distinct order references of ACCEPTED entries, per settle date and category.
+-- A sketch has 4096 registers (precision 12); a register holds the highest rank (leading zeros + 1) of the 64-bit
+-- hashtextextended hashes routed to it. Sketches merge by taking the register-wise maximum, so any date range is the
+-- union of its daily sketches, with a relative standard error of 1.04 / sqrt(4096) = 1.625%.
+CREATE FUNCTION financial_log.order_sketch(reference_ids VARCHAR[]) RETURNS SMALLINT[]
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS
+$$
+SELECT array_agg(coalesce(r.rank, 0)::SMALLINT ORDER BY i.register)
+FROM generate_series(0, 4095) AS i(register)
+         LEFT JOIN (SELECT (h >> 52) & 4095 AS register,
+                           max(least(53, 65 - length(ltrim((h << 12)::BIT(64)::TEXT, '0')))) AS rank
+                    FROM (SELECT hashtextextended(id, 0) AS h FROM unnest(reference_ids) AS id) AS hashes
+                    GROUP BY 1) AS r ON r.register = i.register
+$$;
+
+CREATE FUNCTION financial_log.order_sketch_merge(a SMALLINT[], b SMALLINT[]) RETURNS SMALLINT[]
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS
+$$
+SELECT CASE
+           WHEN a IS NULL THEN b
+           WHEN b IS NULL THEN a
+           ELSE ARRAY(SELECT greatest(x, y) FROM unnest(a, b) WITH ORDINALITY AS u(x, y, n) ORDER BY n)
+           END
+$$;
+
+CREATE AGGREGATE financial_log.order_sketch_union(SMALLINT[]) (
+    SFUNC = financial_log.order_sketch_merge,
+    STYPE = SMALLINT[]
+    );
+
+CREATE TABLE financial_log.financial_log_order_sketch
+(
+    settle_date DATE         NOT NULL,
+    category    VARCHAR(255) NOT NULL,
+    registers   SMALLINT[]   NOT NULL,
+    CONSTRAINT pk_financial_log_order_sketch PRIMARY KEY (settle_date, category)
+);
+
+-- Order reference types as in CalculateFinancialLogTotals.ORDER_REFERENCE_TYPES
+INSERT INTO financial_log.financial_log_order_sketch (settle_date, category, registers)
+SELECT settle_date, category, financial_log.order_sketch(array_agg(DISTINCT reference_id))
+FROM financial_log.financial_log_entry
+WHERE status = 'ACCEPTED'
+  AND reference_id IS NOT NULL
+  AND reference_type IN ('ATTRACTION', 'PACKAGE_HOLIDAY', 'STAY')
+GROUP BY settle_date, category;
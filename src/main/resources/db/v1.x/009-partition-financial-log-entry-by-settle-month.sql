@@ -0,0 +1,140 @@
+-- financial_log_entry becomes a table partitioned by month of settle_date, so queries bounded by settle date only
+-- read the partitions of their months, and vacuum and index maintenance work on partitions of the active months.
+--
+-- Partitions are named financial_log_entry_YYYY_MM. create_financial_log_entry_partition creates them, the
+-- application calls it ahead of time for the coming months. Entries settled in a month without a partition go to
+-- financial_log_entry_default and move to the month's partition once it is created.
+--
+-- Unique constraints of a partitioned table must contain the partition key. The primary key is therefore
+-- (uuid, settle_date) and the sequence number index is no longer unique, both values stay unique as they are
+-- generated. For the same reason financial_log_history can no longer reference the entry with a foreign key, the
+-- history of deleted entries is deleted by the application.
+
+ALTER TABLE financial_log.financial_log_history
+    DROP CONSTRAINT fk_financial_log_entry;
+
+ALTER TABLE financial_log.financial_log_entry
+    RENAME TO financial_log_entry_unpartitioned;
+
+CREATE TABLE financial_log.financial_log_entry
+(
+    LIKE financial_log.financial_log_entry_unpartitioned INCLUDING DEFAULTS INCLUDING IDENTITY INCLUDING STORAGE
+) PARTITION BY RANGE (settle_date);
+
+CREATE TABLE financial_log.financial_log_entry_default
+    PARTITION OF financial_log.financial_log_entry DEFAULT;
+
+-- Creates the partition of the month of the given date, unless it exists, and moves the month's entries from the
+-- default partition into it. The partition is filled and validated before it is attached, so the partitioned table
+-- is only locked in SHARE UPDATE EXCLUSIVE mode and stays readable and writable. The default partition is locked in
+-- SHARE ROW EXCLUSIVE mode before the move, so no entry of the month can be written to it between the move and the
+-- attach, which would otherwise fail its check for entries of the month. It stays readable.
+CREATE OR REPLACE FUNCTION financial_log.create_financial_log_entry_partition(month DATE)
+    RETURNS BOOLEAN
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    month_start    DATE := date_trunc('month', month);
+    month_end      DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition_name TEXT := 'financial_log_entry_' || to_char(month, 'YYYY_MM');
+BEGIN
+    IF to_regclass('financial_log.' || partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format(
+            'CREATE TABLE financial_log.%I (LIKE financial_log.financial_log_entry INCLUDING DEFAULTS INCLUDING STORAGE)',
+            partition_name);
+    -- lets ATTACH PARTITION skip the scan of the new partition
+    EXECUTE format(
+            'ALTER TABLE financial_log.%I ADD CONSTRAINT %I CHECK (settle_date >= %L AND settle_date < %L)',
+            partition_name, partition_name || '_range', month_start, month_end);
+    EXECUTE 'LOCK TABLE financial_log.financial_log_entry_default IN SHARE ROW EXCLUSIVE MODE';
+    EXECUTE format(
+            'WITH moved AS (DELETE FROM financial_log.financial_log_entry_default'
+                || ' WHERE settle_date >= %L AND settle_date < %L RETURNING *)'
+                || ' INSERT INTO financial_log.%I SELECT * FROM moved',
+            month_start, month_end, partition_name);
+    EXECUTE format(
+            'ALTER TABLE financial_log.financial_log_entry ATTACH PARTITION financial_log.%I'
+                || ' FOR VALUES FROM (%L) TO (%L)',
+            partition_name, month_start, month_end);
+    EXECUTE format(
+            'ALTER TABLE financial_log.%I DROP CONSTRAINT %I',
+            partition_name, partition_name || '_range');
+    RETURN TRUE;
+END;
+$$;
+
+-- Detaches the partition of the month of the given date, unless it does not exist. The detached table keeps its name
+-- and contents, so it can be dumped and dropped, or attached again. Its entries are no longer found by queries, so the
+-- month's rows of financial_log_daily_rollup and financial_log_order_sketch are deleted with it; while the partition
+-- was attached they counted only its entries. Attaching the table again requires rebuilding them for the month.
+CREATE OR REPLACE FUNCTION financial_log.detach_financial_log_entry_partition(month DATE)
+    RETURNS BOOLEAN
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    month_start    DATE := date_trunc('month', month);
+    month_end      DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition_name TEXT := 'financial_log_entry_' || to_char(month, 'YYYY_MM');
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM pg_inherits
+                   WHERE inhparent = 'financial_log.financial_log_entry'::regclass
+                     AND inhrelid = to_regclass('financial_log.' || partition_name)) THEN
+        RETURN FALSE;
+    END IF;
+
+    -- the detach locks the partitioned table, so no entry of the month is written before the totals are deleted
+    EXECUTE format(
+            'ALTER TABLE financial_log.financial_log_entry DETACH PARTITION financial_log.%I',
+            partition_name);
+    DELETE FROM financial_log.financial_log_daily_rollup WHERE settle_date >= month_start AND settle_date < month_end;
+    DELETE FROM financial_log.financial_log_order_sketch WHERE settle_date >= month_start AND settle_date < month_end;
+    RETURN TRUE;
+END;
+$$;
+
+SELECT financial_log.create_financial_log_entry_partition(month::DATE)
+FROM (SELECT DISTINCT date_trunc('month', settle_date) AS month
+      FROM financial_log.financial_log_entry_unpartitioned
+      UNION
+      SELECT generate_series(date_trunc('month', current_date), date_trunc('month', current_date) + INTERVAL '3 months',
+                             INTERVAL '1 month')) AS months
+ORDER BY month;
+
+INSERT INTO financial_log.financial_log_entry OVERRIDING SYSTEM VALUE
+SELECT *
+FROM financial_log.financial_log_entry_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('financial_log.financial_log_entry', 'sequence_number'),
+              coalesce(max(sequence_number), 0) + 1, false)
+FROM financial_log.financial_log_entry;
+
+DROP TABLE financial_log.financial_log_entry_unpartitioned;
+
+-- Indexes of the partitioned table are created on every partition, including the ones attached later.
+ALTER TABLE financial_log.financial_log_entry
+    ADD CONSTRAINT pk_financial_log_entry PRIMARY KEY (uuid, settle_date);
+
+CREATE INDEX idx_financial_log_entry_created_at_status ON financial_log.financial_log_entry (created_at, status);
+CREATE INDEX idx_financial_log_entry_settle_date ON financial_log.financial_log_entry (settle_date);
+CREATE INDEX idx_financial_log_entry_aed_amount ON financial_log.financial_log_entry (aed_amount);
+CREATE INDEX idx_financial_log_entry_category ON financial_log.financial_log_entry (category);
+CREATE INDEX idx_financial_log_entry_name_trgm ON financial_log.financial_log_entry USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX idx_financial_log_entry_name_prefix
+    ON financial_log.financial_log_entry ((lower(name) COLLATE "C"));
+CREATE INDEX idx_financial_log_entry_sequence_number ON financial_log.financial_log_entry (sequence_number);
+CREATE INDEX idx_financial_log_entry_settle_date_sequence_number ON financial_log.financial_log_entry (settle_date, sequence_number);
+CREATE INDEX idx_financial_log_entry_aed_amount_sequence_number ON financial_log.financial_log_entry (aed_amount, sequence_number);
+CREATE INDEX idx_financial_log_entry_name_sequence_number ON financial_log.financial_log_entry (name, sequence_number);
+CREATE INDEX idx_financial_log_entry_source_settle_date_sequence_number ON financial_log.financial_log_entry (source, settle_date, sequence_number);
+CREATE INDEX idx_financial_log_entry_tag_ids_gin ON financial_log.financial_log_entry USING GIN (tag_ids);
+CREATE INDEX idx_financial_log_entry_reference
+    ON financial_log.financial_log_entry (reference_id, reference_type)
+    WHERE reference_id IS NOT NULL;
+
+ANALYZE financial_log.financial_log_entry;
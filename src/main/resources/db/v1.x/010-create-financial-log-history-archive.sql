@@ -0,0 +1,35 @@
+-- Cold tier of financial_log_history. History records older than the retention of the hot table are moved here by
+-- the application, in created_at order.
+--
+-- An entry's archived records are one row with a column per field, every column an array holding one element per
+-- record in created_at order. Compared to the hot table there is one tuple header and one index entry per entry
+-- instead of per record, no record uuid and no converted currency, which is always AED. Tag ids are stored as the
+-- text form of each record's int array, as arrays of arrays must not be ragged. Rows of entries with many records
+-- exceed the 2 kB toast threshold and are compressed, the repeated values of the arrays compress well. Appending
+-- records rewrites and recompresses the whole row, so rows are cheap to read but grow at a quadratic cost.
+CREATE TABLE financial_log.financial_log_history_archive
+(
+    financial_log_uuid    UUID          NOT NULL,
+    created_at            TIMESTAMP[]   NOT NULL,
+    created_by            VARCHAR[]     NOT NULL,
+    financial_log_name    VARCHAR[]     NOT NULL,
+    settle_date           DATE[]        NOT NULL,
+    action                VARCHAR[]     NOT NULL,
+    status                VARCHAR[]     NOT NULL,
+    tag_ids               TEXT[]        NOT NULL,
+    notes                 VARCHAR[]     NOT NULL,
+    original_amount       NUMERIC[]     NOT NULL,
+    original_currency     VARCHAR[]     NOT NULL,
+    converted_amount      NUMERIC[]     NOT NULL,
+    category              VARCHAR[]     NOT NULL,
+    reference_id          VARCHAR[]     NOT NULL,
+    reference_type        VARCHAR[]     NOT NULL,
+    reference_business_id VARCHAR[]     NOT NULL,
+    CONSTRAINT pk_financial_log_history_archive PRIMARY KEY (financial_log_uuid)
+);
+
+-- Archiving selects the oldest records of the hot table.
+CREATE INDEX idx_financial_log_history_created_at ON financial_log.financial_log_history (created_at);
+
+-- A prefix of idx_financial_log_history_financial_log_id_created_at, which serves the same lookups.
+DROP INDEX financial_log.idx_financial_log_history_log_entry;
@@ -0,0 +1,83 @@
+package codeyourbrand.javainterview;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Embedded PostgreSQL shared by the tests of one JVM, for tests of queries relying on PostgreSQL features.
+ * <p>
+ * The migrations of {@code db/v1.x} are applied outside the application, in the order of their ordinal prefix, so they
+ * are applied here once in the same order, together with the test resource {@code db/baseline-entity-columns.sql}.
+ * New migrations take the next ordinal and have to be appended to {@link #MIGRATIONS}.
+ */
+public final class PostgresTestDatabase {
+    private static final List<String> MIGRATIONS = List.of(
+            "db/v1.x/001-create-financial-log-schema.sql",
+            "db/baseline-entity-columns.sql",
+            "db/v1.x/002-create-financial-log-daily-rollup.sql",
+            "db/v1.x/003-create-financial-log-keyset-indexes.sql",
+            "db/v1.x/004-alter-financial-log-tag-unique-per-category.sql",
+            "db/v1.x/005-convert-financial-log-tags-to-dictionary-ids.sql",
+            "db/v1.x/006-create-financial-log-name-search-indexes.sql",
+            "db/v1.x/007-create-financial-log-reference-index.sql",
+            "db/v1.x/008-create-financial-log-order-sketch.sql",
+            "db/v1.x/009-partition-financial-log-entry-by-settle-month.sql",
+            "db/v1.x/010-create-financial-log-history-archive.sql");
+
+    private static EmbeddedPostgres postgres;
+
+    private PostgresTestDatabase() {
+        // prevent instantiation
+    }
+
+    /**
+     * Points the application's data source to the embedded database, starting it on first use.
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        EmbeddedPostgres database = start();
+        registry.add("spring.datasource.url", () -> database.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    private static synchronized EmbeddedPostgres start() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+                migrate(postgres);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Applying the migrations failed", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(PostgresTestDatabase::stop));
+        }
+        return postgres;
+    }
+
+    private static void migrate(EmbeddedPostgres database) throws IOException, SQLException {
+        try (Connection connection = database.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String migration : MIGRATIONS) {
+                statement.execute(new ClassPathResource(migration)
+                        .getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void stop() {
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            // the process is killed with the JVM anyway
+        }
+    }
+}
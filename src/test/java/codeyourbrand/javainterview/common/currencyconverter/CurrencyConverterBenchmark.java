@@ -0,0 +1,82 @@
+package codeyourbrand.javainterview.common.currencyconverter;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntryFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts single amounts and pages of mixed-currency amounts to AED with the rates of the local profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurrencyConverterBenchmark {
+    CurrencyConverterService currencyConverterService;
+    Money money;
+    BigDecimal amount;
+
+    @Setup
+    public void setUp() {
+        // the AED rate history is only used by convertToAed
+        currencyConverterService = new FakeCurrencyConverterService(null);
+        money = Money.of("1234.56", CurrencyCode.EUR);
+        amount = money.getAmount();
+    }
+
+    @Benchmark
+    public BigDecimal convertAmount() {
+        return currencyConverterService.convert(CurrencyCode.EUR, CurrencyCode.AED, amount);
+    }
+
+    @Benchmark
+    public Money convertMoney() {
+        return currencyConverterService.convert(money, CurrencyCode.AED);
+    }
+
+    @Benchmark
+    public void convertPage(Page page, Blackhole blackhole) {
+        for (Money item : page.page) {
+            blackhole.consume(currencyConverterService.convert(item, CurrencyCode.AED));
+        }
+    }
+
+    @Benchmark
+    public List<Money> convertAllPage(Page page) {
+        return currencyConverterService.convertAll(page.page, CurrencyCode.AED);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+        @Param({"100", "1000"})
+        int pageSize;
+
+        List<Money> page;
+
+        @Setup
+        public void setUp() {
+            page = FinancialLogEntryFixtures.snapshots(pageSize).stream()
+                    .map(FinancialLogEntry.Snapshot::money)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package codeyourbrand.javainterview.common.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MinorUnitMoneyTest {
+    private static final MinorUnitMoney MAX = new MinorUnitMoney(Long.MAX_VALUE, CurrencyCode.EUR);
+    private static final MinorUnitMoney MIN = new MinorUnitMoney(Long.MIN_VALUE, CurrencyCode.EUR);
+    private static final MinorUnitMoney ONE_CENT = new MinorUnitMoney(1, CurrencyCode.EUR);
+
+    @Test
+    void addThrowsOnOverflow() {
+        assertThatThrownBy(() -> MAX.add(ONE_CENT)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void subtractThrowsOnOverflow() {
+        assertThatThrownBy(() -> MIN.subtract(ONE_CENT)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void multiplyThrowsOnOverflow() {
+        assertThatThrownBy(() -> MAX.multiply(2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> MAX.multiply(new BigDecimal("1.01"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void negateThrowsOnOverflow() {
+        assertThatThrownBy(MIN::negate).isInstanceOf(ArithmeticException.class);
+        assertThat(MAX.negate().minorUnits()).isEqualTo(-Long.MAX_VALUE);
+    }
+
+    @Test
+    void toMinorUnitsThrowsWhenAmountDoesNotFitIntoLong() {
+        BigDecimal tooLarge = MinorUnitMoney.toAmount(Long.MAX_VALUE).add(new BigDecimal("0.01"));
+
+        assertThatThrownBy(() -> MinorUnitMoney.toMinorUnits(tooLarge)).isInstanceOf(ArithmeticException.class);
+    }
+
+    /**
+     * Further decimal places are rounded down, towards zero, like {@link Money} does.
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "12.34, 1234",
+            "12.3, 1230",
+            "12, 1200",
+            "12.349, 1234",
+            "12.3499999, 1234",
+            "-12.349, -1234",
+            "0.009, 0",
+            "1E+3, 100000"
+    })
+    void toMinorUnitsRoundsDownLikeMoney(String amount, long minorUnits) {
+        assertThat(MinorUnitMoney.toMinorUnits(new BigDecimal(amount))).isEqualTo(minorUnits);
+        assertThat(MinorUnitMoney.of(Money.of(amount, CurrencyCode.EUR)).minorUnits()).isEqualTo(minorUnits);
+    }
+
+    @Test
+    void toAmountHasTwoDecimalPlaces() {
+        assertThat(MinorUnitMoney.toAmount(1200)).isEqualTo(new BigDecimal("12.00"));
+        assertThat(MinorUnitMoney.toAmount(-5)).isEqualTo(new BigDecimal("-0.05"));
+    }
+
+    @Test
+    void convertsToMoneyAndBackLosslessly() {
+        Money money = Money.of("-1234.56", CurrencyCode.AED);
+
+        assertThat(MinorUnitMoney.of(money).toMoney()).isEqualTo(money);
+        assertThat(MinorUnitMoney.of(money).toMoney().getAmount().scale()).isEqualTo(MinorUnitMoney.SCALE);
+    }
+
+    @Test
+    void multiplyByDecimalRoundsDownLikeMoney() {
+        Money money = Money.of("10.01", CurrencyCode.EUR);
+        BigDecimal rate = new BigDecimal("4.0123");
+
+        assertThat(MinorUnitMoney.of(money).multiply(rate).toMoney()).isEqualTo(money.multiply(rate));
+        assertThat(MinorUnitMoney.of(money).multiply(rate).minorUnits()).isEqualTo(4016);
+    }
+
+    @Test
+    void rejectsDifferentCurrencies() {
+        MinorUnitMoney euros = new MinorUnitMoney(100, CurrencyCode.EUR);
+        MinorUnitMoney dirhams = new MinorUnitMoney(100, CurrencyCode.AED);
+
+        assertThatThrownBy(() -> euros.add(dirhams)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> euros.subtract(dirhams)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> euros.compareTo(dirhams)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package codeyourbrand.javainterview.common.model;
+
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntryFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single {@link Money} operations and the in-memory sum of a page of amounts, next to the same operations on
+ * {@link MinorUnitMoney}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+    BigDecimal amount;
+    BigDecimal multiplier;
+    Money left;
+    Money right;
+    MinorUnitMoney minorUnitLeft;
+    MinorUnitMoney minorUnitRight;
+
+    @Setup
+    public void setUp() {
+        amount = new BigDecimal("1234.5678");
+        multiplier = new BigDecimal("3.6725");
+        left = Money.of("1234.56", CurrencyCode.AED);
+        right = Money.of("98.70", CurrencyCode.AED);
+        minorUnitLeft = MinorUnitMoney.of(left);
+        minorUnitRight = MinorUnitMoney.of(right);
+    }
+
+    @Benchmark
+    public Money create() {
+        return new Money(amount, CurrencyCode.AED);
+    }
+
+    @Benchmark
+    public Money add() {
+        return left.add(right);
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return left.subtract(right);
+    }
+
+    @Benchmark
+    public Money multiply() {
+        return left.multiply(multiplier);
+    }
+
+    @Benchmark
+    public Money sumPage(Page page) {
+        Money sum = Money.zero(CurrencyCode.AED);
+        for (Money money : page.page) {
+            sum = sum.add(money);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public MinorUnitMoney minorUnitAdd() {
+        return minorUnitLeft.add(minorUnitRight);
+    }
+
+    @Benchmark
+    public MinorUnitMoney minorUnitSubtract() {
+        return minorUnitLeft.subtract(minorUnitRight);
+    }
+
+    @Benchmark
+    public MinorUnitMoney minorUnitMultiply() {
+        return minorUnitLeft.multiply(multiplier);
+    }
+
+    @Benchmark
+    public MinorUnitMoney minorUnitSumPage(Page page) {
+        MinorUnitMoney sum = MinorUnitMoney.zero(CurrencyCode.AED);
+        for (MinorUnitMoney money : page.minorUnitPage) {
+            sum = sum.add(money);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public MinorUnitMoney toMinorUnitMoney() {
+        return MinorUnitMoney.of(left);
+    }
+
+    @Benchmark
+    public Money fromMinorUnitMoney() {
+        return minorUnitLeft.toMoney();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+        @Param({"100", "1000"})
+        int pageSize;
+
+        List<Money> page;
+        List<MinorUnitMoney> minorUnitPage;
+
+        @Setup
+        public void setUp() {
+            page = FinancialLogEntryFixtures.snapshots(pageSize).stream()
+                    .map(FinancialLogEntry.Snapshot::aedAmount)
+                    .map(aedAmount -> new Money(aedAmount, CurrencyCode.AED))
+                    .toList();
+            minorUnitPage = page.stream().map(MinorUnitMoney::of).toList();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package codeyourbrand.javainterview.financiallog.application;
+
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntryFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a page of entries to list item responses, alone and together with the snapshotting that precedes it in the
+ * application service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinancialLogApiMapperBenchmark {
+    @Param({"100", "1000"})
+    int pageSize;
+
+    List<FinancialLogEntry> entries;
+    List<FinancialLogEntry.Snapshot> snapshots;
+
+    @Setup
+    public void setUp() {
+        entries = FinancialLogEntryFixtures.entries(pageSize);
+        snapshots = FinancialLogEntryFixtures.snapshots(pageSize);
+    }
+
+    @Benchmark
+    public void mapToFinancialLogListItemResponse(Blackhole blackhole) {
+        for (FinancialLogEntry.Snapshot snapshot : snapshots) {
+            blackhole.consume(FinancialLogApiMapper.mapToFinancialLogListItemResponse(snapshot));
+        }
+    }
+
+    @Benchmark
+    public List<FinancialLogApi.FinancialLogListItemResponse> snapshotAndMapPage() {
+        return entries.stream()
+                .map(FinancialLogEntry::toSnapshot)
+                .map(FinancialLogApiMapper::mapToFinancialLogListItemResponse)
+                .toList();
+    }
+}
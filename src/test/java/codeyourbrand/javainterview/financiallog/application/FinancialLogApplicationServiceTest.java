@@ -1,5 +1,324 @@
 package codeyourbrand.javainterview.financiallog.application;
 
+import codeyourbrand.javainterview.PostgresTestDatabase;
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.domain.exceptions.FinancialLogException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "financial-log.accept-drafts.chunk-size=2",
+        "financial-log.daily-summary.approximate-orders=true"})
+@ActiveProfiles("local")
+@RecordApplicationEvents
 class FinancialLogApplicationServiceTest {
+    @Autowired
+    private FinancialLogApplicationService financialLogApplicationService;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void scrollContinuesAcrossEntriesWithEqualSortValues() {
+        String marker = "scroll-" + UUID.randomUUID();
+        createEntry(marker + "-a", LocalDate.of(2031, 1, 10), "10.00");
+        createEntry(marker + "-b", LocalDate.of(2031, 1, 20), "20.00");
+        createEntry(marker + "-c", LocalDate.of(2031, 1, 20), "30.00");
+        createEntry(marker + "-d", LocalDate.of(2031, 1, 20), "40.00");
+        createEntry(marker + "-e", LocalDate.of(2031, 1, 30), "50.00");
+
+        List<List<String>> windows = scroll(filters(marker, FinancialLogApi.SortBy.SETTLE_DATE, Sort.Direction.DESC));
+
+        assertThat(windows).containsExactly(
+                List.of(marker + "-e", marker + "-d"),
+                List.of(marker + "-c", marker + "-b"),
+                List.of(marker + "-a"));
+    }
+
+    @Test
+    void scrollReturnsEveryEntryOnceForEachSorting() {
+        String marker = "scroll-" + UUID.randomUUID();
+        createEntry(marker + "-a", LocalDate.of(2031, 2, 10), "12.50");
+        createEntry(marker + "-b", LocalDate.of(2031, 2, 5), "12.50");
+        createEntry(marker + "-c", LocalDate.of(2031, 2, 1), "7.25");
+
+        assertThat(scroll(filters(marker, FinancialLogApi.SortBy.ID, Sort.Direction.ASC)))
+                .containsExactly(List.of(marker + "-a", marker + "-b"), List.of(marker + "-c"));
+        assertThat(scroll(filters(marker, FinancialLogApi.SortBy.NAME, Sort.Direction.DESC)))
+                .containsExactly(List.of(marker + "-c", marker + "-b"), List.of(marker + "-a"));
+        assertThat(scroll(filters(marker, FinancialLogApi.SortBy.VALUE, Sort.Direction.ASC)))
+                .containsExactly(List.of(marker + "-c", marker + "-a"), List.of(marker + "-b"));
+    }
+
+    @Test
+    void scrollMatchesStrippedNameAndRejectsTooShortSubstring() {
+        String marker = "scroll-" + UUID.randomUUID();
+        createEntry(marker + "-a", LocalDate.of(2031, 5, 1), "10.00");
+
+        assertThat(scroll(filters("  " + marker + " ", FinancialLogApi.SortBy.ID, Sort.Direction.ASC)))
+                .containsExactly(List.of(marker + "-a"));
+        assertThatThrownBy(() -> financialLogApplicationService.scroll(
+                filters(" a ", FinancialLogApi.SortBy.ID, Sort.Direction.ASC)))
+                .isInstanceOf(FinancialLogException.class);
+    }
+
+    @Test
+    void updateWritesHistoryAfterCommit() {
+        String name = "history-" + UUID.randomUUID();
+        UUID uuid = createEntry(name, LocalDate.of(2031, 3, 1), "10.00");
+
+        financialLogApplicationService.update(
+                uuid,
+                new FinancialLogApi.UpdateFinancialLogRequest(
+                        null, name + "-renamed", null, null, Set.of(), "Typo in the name"),
+                "test@codeyourbrand.com");
+
+        await(() -> financialLogApplicationService.getHistoryByFinancialLogUuids(uuid).size() == 1);
+        assertThat(financialLogApplicationService.getHistoryByFinancialLogUuids(uuid).getFirst().financialLogName())
+                .isEqualTo(name);
+    }
+
+    @Test
+    void updateAllRejectsEntryRequestedTwice() {
+        String name = "update-all-" + UUID.randomUUID();
+        UUID uuid = createEntry(name, LocalDate.of(2031, 6, 1), "10.00");
+
+        assertThatThrownBy(() -> financialLogApplicationService.updateAll(
+                List.of(rename(uuid, name + "-first"), rename(uuid, name + "-second")), "test@codeyourbrand.com"))
+                .isInstanceOf(FinancialLogException.class)
+                .hasMessage(FinancialLogException.duplicateEntriesInBulkUpdate().getMessage());
+
+        assertThat(financialLogApplicationService.getDetailedByUuid(uuid).name()).isEqualTo(name);
+        assertThat(historyCommandsOf(uuid)).isEmpty();
+    }
+
+    @Test
+    void updateAllRejectsMissingEntryWithoutUpdatingTheOthers() {
+        String name = "update-all-" + UUID.randomUUID();
+        UUID existing = createEntry(name, LocalDate.of(2031, 6, 2), "10.00");
+        UUID missing = UUID.randomUUID();
+
+        assertThatThrownBy(() -> financialLogApplicationService.updateAll(
+                List.of(rename(existing, name + "-renamed"), rename(missing, name + "-missing")),
+                "test@codeyourbrand.com"))
+                .isInstanceOf(FinancialLogException.class)
+                .hasMessageContaining(missing.toString())
+                .hasMessageNotContaining(existing.toString());
+
+        assertThat(financialLogApplicationService.getDetailedByUuid(existing).name()).isEqualTo(name);
+        assertThat(historyCommandsOf(existing)).isEmpty();
+    }
+
+    /**
+     * Moving one order to another settle date and the other to another category replaces their previous daily
+     * rollup totals and order sketch members with the new ones.
+     */
+    @Test
+    void updateAllReplacesRollupAndOrderSketchesOfEveryEntry() {
+        String marker = "update-all-" + UUID.randomUUID();
+        LocalDate settleDate = LocalDate.of(2031, 7, 10);
+        LocalDate movedSettleDate = LocalDate.of(2031, 7, 20);
+        UUID moved = createOrder(marker + "-a", settleDate, "10.00", marker + "-order-a");
+        UUID recategorized = createOrder(marker + "-b", settleDate, "-4.00", marker + "-order-b");
+        assertDailySummary(settleDate, FinancialLogApi.Category.OPERATIONS, "10.00", "6.00", 2);
+
+        financialLogApplicationService.updateAll(
+                List.of(
+                        new FinancialLogApi.UpdateFinancialLogEntryRequest(
+                                moved,
+                                new FinancialLogApi.UpdateFinancialLogRequest(
+                                        null, null, movedSettleDate, Money.of("25.00", CurrencyCode.AED), Set.of(),
+                                        "Settled later")),
+                        new FinancialLogApi.UpdateFinancialLogEntryRequest(
+                                recategorized,
+                                new FinancialLogApi.UpdateFinancialLogRequest(
+                                        FinancialLogApi.Category.EMPLOYEES, null, null, null, Set.of(),
+                                        "Wrong category"))),
+                "test@codeyourbrand.com");
+
+        assertDailySummary(settleDate, FinancialLogApi.Category.OPERATIONS, "0", "0", 0);
+        assertDailySummary(movedSettleDate, FinancialLogApi.Category.OPERATIONS, "25.00", "25.00", 1);
+        assertDailySummary(settleDate, FinancialLogApi.Category.EMPLOYEES, "0", "-4.00", 1);
+    }
+
+    @Test
+    void updateAllPublishesHistoryOfAllEntriesAsOneCommand() {
+        String name = "update-all-" + UUID.randomUUID();
+        UUID first = createEntry(name + "-a", LocalDate.of(2031, 6, 3), "10.00");
+        UUID second = createEntry(name + "-b", LocalDate.of(2031, 6, 4), "20.00");
+
+        var updated = financialLogApplicationService.updateAll(
+                List.of(rename(first, name + "-a-renamed"), rename(second, name + "-b-renamed")),
+                "test@codeyourbrand.com");
+
+        assertThat(updated).extracting(FinancialLogApi.FinancialLogListItemResponse::name)
+                .containsExactly(name + "-a-renamed", name + "-b-renamed");
+        assertThat(historyCommandsOf(first)).singleElement()
+                .satisfies(command -> assertThat(command.entryUuidToOldSnapshot()).containsOnlyKeys(first, second));
+        for (UUID uuid : List.of(first, second)) {
+            await(() -> financialLogApplicationService.getHistoryByFinancialLogUuids(uuid).size() == 1);
+        }
+        assertThat(financialLogApplicationService.getHistoryByFinancialLogUuids(first).getFirst().financialLogName())
+                .isEqualTo(name + "-a");
+    }
+
+    @Test
+    void acceptDraftsAcceptsEveryChunkAndWritesItsHistory() {
+        String marker = "accept-" + UUID.randomUUID();
+        Set<String> tags = Set.of(marker + "-tag");
+        List<UUID> drafts = List.of(
+                createEntry(marker + "-a", LocalDate.of(2031, 4, 1), "10.00", FinancialLogApi.Status.DRAFT, tags),
+                createEntry(marker + "-b", LocalDate.of(2031, 4, 2), "20.00", FinancialLogApi.Status.DRAFT, tags),
+                createEntry(marker + "-c", LocalDate.of(2031, 4, 3), "30.00", FinancialLogApi.Status.DRAFT, tags));
+        UUID accepted = createEntry(marker + "-d", LocalDate.of(2031, 4, 4), "40.00");
+        List<UUID> uuids = new ArrayList<>(drafts);
+        uuids.add(accepted);
+
+        var response = financialLogApplicationService.acceptDrafts(uuids, "test@codeyourbrand.com");
+
+        assertThat(response.acceptedUuids()).containsExactlyInAnyOrderElementsOf(drafts);
+        assertThat(response.notDraftUuids()).containsExactly(accepted);
+        for (UUID uuid : drafts) {
+            var entry = financialLogApplicationService.getDetailedByUuid(uuid);
+            assertThat(entry.status()).isEqualTo(FinancialLogApi.Status.ACCEPTED);
+            assertThat(entry.tags()).isEqualTo(tags);
+            await(() -> financialLogApplicationService.getHistoryByFinancialLogUuids(uuid).size() == 1);
+        }
+        assertThat(financialLogApplicationService.getHistoryByFinancialLogUuids(accepted)).isEmpty();
+    }
+
+    @Test
+    void acceptDraftsIncrementsMissingVersionOfLegacyRows() {
+        String name = "accept-" + UUID.randomUUID();
+        UUID draft = createEntry(name, LocalDate.of(2031, 4, 5), "10.00", FinancialLogApi.Status.DRAFT, Set.of());
+        jdbcTemplate.update("UPDATE financial_log.financial_log_entry SET version = NULL WHERE uuid = ?", draft);
+
+        var response = financialLogApplicationService.acceptDrafts(List.of(draft), "test@codeyourbrand.com");
+
+        assertThat(response.acceptedUuids()).containsExactly(draft);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT version FROM financial_log.financial_log_entry WHERE uuid = ?", Long.class, draft))
+                .isEqualTo(1);
+    }
+
+    private UUID createEntry(String name, LocalDate settleDate, String amount) {
+        return createEntry(name, settleDate, amount, FinancialLogApi.Status.ACCEPTED, Set.of());
+    }
+
+    private UUID createEntry(
+            String name, LocalDate settleDate, String amount, FinancialLogApi.Status status, Set<String> tags) {
+        return financialLogApplicationService.createManualLog(new FinancialLogApi.CreateFinancialLogRequest(
+                FinancialLogApi.Category.OPERATIONS,
+                name,
+                settleDate,
+                Money.of(amount, CurrencyCode.AED),
+                status,
+                null,
+                tags,
+                null)).uuid();
+    }
+
+    private UUID createOrder(String name, LocalDate settleDate, String amount, String referenceId) {
+        return financialLogApplicationService.createManualLog(new FinancialLogApi.CreateFinancialLogRequest(
+                FinancialLogApi.Category.OPERATIONS,
+                name,
+                settleDate,
+                Money.of(amount, CurrencyCode.AED),
+                FinancialLogApi.Status.ACCEPTED,
+                new FinancialLogApi.Reference(referenceId, "STAY", null),
+                Set.of(),
+                null)).uuid();
+    }
+
+    private static FinancialLogApi.UpdateFinancialLogEntryRequest rename(UUID uuid, String name) {
+        return new FinancialLogApi.UpdateFinancialLogEntryRequest(
+                uuid, new FinancialLogApi.UpdateFinancialLogRequest(null, name, null, null, Set.of(), "Typo"));
+    }
+
+    /**
+     * Asserts the summary of the accepted entries of one settle date and category, whose orders are estimated from
+     * the order sketches. Estimates of a few orders are exact.
+     */
+    private void assertDailySummary(
+            LocalDate settleDate, FinancialLogApi.Category category, String revenue, String profit, long orders) {
+        var filters = new FinancialLogApi.GetFinancialLogFiltersRequest();
+        filters.setSettleDateFrom(settleDate);
+        filters.setSettleDateTo(settleDate);
+        filters.setCategory(category);
+        filters.setStatus(FinancialLogApi.Status.ACCEPTED);
+
+        var summary = financialLogApplicationService.getDailySummary(filters);
+
+        assertThat(summary.revenue()).isEqualByComparingTo(revenue);
+        assertThat(summary.profit()).isEqualByComparingTo(profit);
+        assertThat(summary.orders()).isEqualTo(orders);
+        assertThat(summary.ordersRelativeError()).isPositive();
+    }
+
+    private List<FinancialLogApi.CreateFinancialLogHistory> historyCommandsOf(UUID uuid) {
+        return applicationEvents.stream(FinancialLogApi.CreateFinancialLogHistory.class)
+                .filter(command -> command.entryUuidToOldSnapshot().containsKey(uuid))
+                .toList();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 5 s").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static FinancialLogApi.GetFinancialLogFiltersRequest filters(
+            String name, FinancialLogApi.SortBy sortBy, Sort.Direction direction) {
+        var filters = new FinancialLogApi.GetFinancialLogFiltersRequest();
+        filters.setName(name);
+        filters.setSortBy(sortBy);
+        filters.setSortDirection(direction);
+        filters.setSize(2);
+        return filters;
+    }
 
+    /**
+     * @return names of the entries of each window, following the continuation tokens until there are no more
+     */
+    private List<List<String>> scroll(FinancialLogApi.GetFinancialLogFiltersRequest filters) {
+        List<List<String>> windows = new ArrayList<>();
+        do {
+            var window = financialLogApplicationService.scroll(filters);
+            windows.add(window.financialLogListItemResponses().stream()
+                    .map(FinancialLogApi.FinancialLogListItemResponse::name)
+                    .toList());
+            filters.setContinuationToken(window.continuationToken());
+        } while (filters.getContinuationToken() != null);
+        return windows;
+    }
 }
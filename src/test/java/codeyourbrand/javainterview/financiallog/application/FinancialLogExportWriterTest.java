@@ -0,0 +1,113 @@
+package codeyourbrand.javainterview.financiallog.application;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.financiallog.infrastructure.persistence.FinancialLogRepository;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FinancialLogExportWriterTest {
+    private static final UUID UUID_1 = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final String CSV_HEADER = "uuid,sequence_number,name,status,category,source,settle_date,amount,"
+            + "currency,aed_amount,reference_id,reference_type,reference_business_id,tags,notes,created_at";
+
+    @Test
+    void csvQuotesValuesWithSeparatorsQuotesAndLineBreaks() {
+        String csv = export(
+                FinancialLogApi.ExportFormat.CSV,
+                row("Tour, \"Desert\" safari",
+                        "line one\nline two\r\nline three",
+                        new LinkedHashSet<>(List.of("a", "b"))));
+
+        assertThat(csv).isEqualTo(CSV_HEADER + "\n"
+                + UUID_1 + ",7,\"Tour, \"\"Desert\"\" safari\",ACCEPTED,OPERATIONS,MANUAL,2025-03-01,-12.50,EUR,"
+                + "-55.27,R-1,STAY,B-1,a;b,\"line one\nline two\r\nline three\",2025-03-02T10:15:30\n");
+    }
+
+    @Test
+    void csvLeavesMissingValuesEmpty() {
+        String csv = export(FinancialLogApi.ExportFormat.CSV, emptyRow());
+
+        assertThat(csv).isEqualTo(CSV_HEADER + "\n" + UUID_1 + ",,,,,,,,,,,,,,,\n");
+    }
+
+    @Test
+    void csvWritesOnlyHeaderWithoutRows() {
+        assertThat(export(FinancialLogApi.ExportFormat.CSV)).isEqualTo(CSV_HEADER + "\n");
+    }
+
+    @Test
+    void ndjsonWritesOneEscapedObjectPerLine() {
+        String ndjson = export(
+                FinancialLogApi.ExportFormat.NDJSON,
+                row("Tour \"Desert\"\tsafari \\ 1", "line one\nline two\u0001", Set.of("tag \"x\"")),
+                emptyRow());
+
+        String[] lines = ndjson.split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+
+        DocumentContext first = JsonPath.parse(lines[0]);
+        assertThat(first.<String>read("$.uuid")).isEqualTo(UUID_1.toString());
+        assertThat(first.<Integer>read("$.sequenceNumber")).isEqualTo(7);
+        assertThat(first.<String>read("$.name")).isEqualTo("Tour \"Desert\"\tsafari \\ 1");
+        assertThat(first.<String>read("$.notes")).isEqualTo("line one\nline two\u0001");
+        assertThat(first.<Double>read("$.amount")).isEqualTo(-12.5);
+        assertThat(first.<Double>read("$.aedAmount")).isEqualTo(-55.27);
+        assertThat(first.<List<String>>read("$.tags")).containsExactly("tag \"x\"");
+        assertThat(first.<String>read("$.settleDate")).isEqualTo("2025-03-01");
+        assertThat(first.<String>read("$.createdAt")).isEqualTo("2025-03-02T10:15:30");
+
+        DocumentContext second = JsonPath.parse(lines[1]);
+        assertThat(second.<Object>read("$.name")).isNull();
+        assertThat(second.<Object>read("$.amount")).isNull();
+        assertThat(second.<List<String>>read("$.tags")).isEmpty();
+    }
+
+    private static String export(FinancialLogApi.ExportFormat format, FinancialLogRepository.ExportRow... rows) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        FinancialLogExportWriter writer = FinancialLogExportWriter.start(format, output);
+        for (FinancialLogRepository.ExportRow row : rows) {
+            writer.write(row);
+        }
+        writer.finish();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static FinancialLogRepository.ExportRow row(String name, String notes, Set<String> tags) {
+        return new FinancialLogRepository.ExportRow(
+                UUID_1,
+                7L,
+                name,
+                FinancialLogApi.Status.ACCEPTED,
+                FinancialLogApi.Category.OPERATIONS,
+                FinancialLogApi.Source.MANUAL,
+                LocalDate.of(2025, 3, 1),
+                new BigDecimal("-12.50"),
+                CurrencyCode.EUR,
+                new BigDecimal("-55.27"),
+                "R-1",
+                "STAY",
+                "B-1",
+                tags,
+                notes,
+                LocalDateTime.of(2025, 3, 2, 10, 15, 30));
+    }
+
+    private static FinancialLogRepository.ExportRow emptyRow() {
+        return new FinancialLogRepository.ExportRow(
+                UUID_1, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,62 @@
+package codeyourbrand.javainterview.financiallog.application;
+
+import codeyourbrand.javainterview.PostgresTestDatabase;
+import codeyourbrand.javainterview.financiallog.domain.exceptions.FinancialLogTagException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("local")
+class FinancialLogTagApplicationServiceTest {
+    @Autowired
+    private FinancialLogTagApplicationService financialLogTagApplicationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void createTagRejectsNameMissingFromCatalogueButTakenInDatabase() {
+        String name = "tag-" + UUID.randomUUID();
+        financialLogTagApplicationService.getTagsByCategory();
+        insertTag(name);
+
+        assertThatThrownBy(() -> financialLogTagApplicationService.createTag(
+                new FinancialLogApi.CreateFinancialLogTagRequest(FinancialLogApi.Category.OPERATIONS, name)))
+                .isInstanceOf(FinancialLogTagException.class);
+    }
+
+    @Test
+    void updateTagRejectsNameMissingFromCatalogueButTakenInDatabase() {
+        String name = "tag-" + UUID.randomUUID();
+        UUID uuid = financialLogTagApplicationService.createTag(new FinancialLogApi.CreateFinancialLogTagRequest(
+                FinancialLogApi.Category.OPERATIONS, name + "-renamed")).uuid();
+        insertTag(name);
+
+        assertThatThrownBy(() -> financialLogTagApplicationService.updateTag(
+                uuid, new FinancialLogApi.UpdateFinancialLogTagRequest(FinancialLogApi.Category.OPERATIONS, name)))
+                .isInstanceOf(FinancialLogTagException.class);
+    }
+
+    /**
+     * Inserts a tag behind the catalogue's back, like another instance would.
+     */
+    private void insertTag(String name) {
+        jdbcTemplate.update(
+                "INSERT INTO financial_log.financial_log_tag (uuid, name, category) VALUES (?, ?, ?)",
+                UUID.randomUUID(), name, FinancialLogApi.Category.OPERATIONS.name());
+    }
+}
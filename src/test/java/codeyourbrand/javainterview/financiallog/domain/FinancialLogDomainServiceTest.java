@@ -1,5 +1,73 @@
 package codeyourbrand.javainterview.financiallog.domain;
 
+import codeyourbrand.javainterview.common.currencyconverter.CurrencyConverterService;
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 class FinancialLogDomainServiceTest {
+    private static final LocalDate SETTLE_DATE = LocalDate.of(2025, 3, 1);
+    private static final LocalDate NEW_SETTLE_DATE = LocalDate.of(2025, 6, 1);
+    private static final Money EUR_10 = Money.of("10.00", CurrencyCode.EUR);
+    private static final Money EUR_20 = Money.of("20.00", CurrencyCode.EUR);
+
+    private final CurrencyConverterService converterService = mock(CurrencyConverterService.class);
+    private final FinancialLogDomainService financialLogDomainService =
+            new FinancialLogDomainService(converterService);
+
+    private FinancialLogEntry entry;
+
+    @BeforeEach
+    void createEntry() {
+        when(converterService.convertToAed(EUR_10, SETTLE_DATE)).thenReturn(Money.of("40.00", CurrencyCode.AED));
+        when(converterService.convertToAed(EUR_10, NEW_SETTLE_DATE)).thenReturn(Money.of("42.00", CurrencyCode.AED));
+        when(converterService.convertToAed(EUR_20, SETTLE_DATE)).thenReturn(Money.of("80.00", CurrencyCode.AED));
+        entry = financialLogDomainService.create(
+                FinancialLogEntry.Snapshot.builder()
+                        .status(FinancialLogApi.Status.DRAFT)
+                        .name("Ticket")
+                        .category(FinancialLogApi.Category.OPERATIONS)
+                        .settleDate(SETTLE_DATE)
+                        .money(EUR_10)
+                        .build(),
+                FinancialLogApi.Source.MANUAL);
+    }
+
+    @Test
+    void updateOfSettleDateConvertsExistingMoneyAtNewDate() {
+        financialLogDomainService.update(
+                FinancialLogEntry.Snapshot.builder().settleDate(NEW_SETTLE_DATE).build(), entry, null);
+
+        assertThat(entry.getMoney()).isEqualTo(EUR_10);
+        assertThat(entry.getSettleDate()).isEqualTo(NEW_SETTLE_DATE);
+        assertThat(entry.getAedAmount()).isEqualByComparingTo(new BigDecimal("42.00"));
+    }
+
+    @Test
+    void updateOfMoneyConvertsAtExistingSettleDate() {
+        financialLogDomainService.update(FinancialLogEntry.Snapshot.builder().money(EUR_20).build(), entry, null);
+
+        assertThat(entry.getMoney()).isEqualTo(EUR_20);
+        assertThat(entry.getAedAmount()).isEqualByComparingTo(new BigDecimal("80.00"));
+    }
+
+    @Test
+    void updateOfOtherPropertiesKeepsAedAmount() {
+        financialLogDomainService.update(FinancialLogEntry.Snapshot.builder().name("Tour").build(), entry, null);
 
+        assertThat(entry.getName()).isEqualTo("Tour");
+        assertThat(entry.getAedAmount()).isEqualByComparingTo(new BigDecimal("40.00"));
+        verify(converterService).convertToAed(any(), any());
+    }
 }
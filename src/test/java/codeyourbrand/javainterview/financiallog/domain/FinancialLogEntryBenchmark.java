@@ -0,0 +1,45 @@
+package codeyourbrand.javainterview.financiallog.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshots a page of loaded entries, as every read endpoint does before mapping them to responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinancialLogEntryBenchmark {
+    @Param({"100", "1000"})
+    int pageSize;
+
+    List<FinancialLogEntry> page;
+
+    @Setup
+    public void setUp() {
+        page = FinancialLogEntryFixtures.entries(pageSize);
+    }
+
+    @Benchmark
+    public void toSnapshot(Blackhole blackhole) {
+        for (FinancialLogEntry entry : page) {
+            blackhole.consume(entry.toSnapshot());
+        }
+    }
+}
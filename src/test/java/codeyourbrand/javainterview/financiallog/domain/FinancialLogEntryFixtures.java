@@ -0,0 +1,121 @@
+package codeyourbrand.javainterview.financiallog.domain;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic, realistically shaped entries for the benchmarks: a mix of statuses, categories, sources and
+ * currencies, most entries referencing an order, up to four tags and notes on every other entry. The same size always
+ * yields the same entries.
+ */
+public final class FinancialLogEntryFixtures {
+    public static final List<String> TAGS = List.of(
+            "attraction", "ticket", "provider-fee", "refund", "payment-fee", "commission", "voucher", "promo",
+            "b2b", "b2c", "summer", "winter", "desert-safari", "cruise", "city-tour", "museum", "theme-park",
+            "transfer", "insurance", "adjustment");
+
+    private static final List<String> REFERENCE_TYPES = List.of("ATTRACTION", "PACKAGE_HOLIDAY", "STAY", "INVOICE");
+    private static final LocalDate FIRST_SETTLE_DATE = LocalDate.of(2025, 1, 1);
+    private static final LocalDateTime FIRST_CREATED_AT = LocalDateTime.of(2025, 1, 1, 8, 0);
+    private static final long SEED = 42;
+
+    private FinancialLogEntryFixtures() {
+        // prevent instantiation
+    }
+
+    /**
+     * @return {@code count} entries as loaded from the database, with uuid, sequence number and creation time set
+     */
+    public static List<FinancialLogEntry> entries(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<FinancialLogEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FinancialLogEntry.Snapshot snapshot = snapshot(i, random);
+            FinancialLogEntry entry = new FinancialLogEntry(snapshot, snapshot.source(), snapshot.aedAmount());
+            set(entry, "uuid", snapshot.uuid());
+            set(entry, "sequenceNumber", snapshot.sequenceNumber());
+            set(entry, "createdAt", snapshot.createdAt());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * @return new entries of the given snapshots, as the domain service creates them before they are saved
+     */
+    public static List<FinancialLogEntry> newEntries(List<FinancialLogEntry.Snapshot> snapshots) {
+        List<FinancialLogEntry> entries = new ArrayList<>(snapshots.size());
+        for (FinancialLogEntry.Snapshot snapshot : snapshots) {
+            entries.add(new FinancialLogEntry(snapshot, snapshot.source(), snapshot.aedAmount()));
+        }
+        return entries;
+    }
+
+        public static List<FinancialLogEntry.Snapshot> snapshots(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<FinancialLogEntry.Snapshot> snapshots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            snapshots.add(snapshot(i, random));
+        }
+        return snapshots;
+    }
+
+    private static FinancialLogEntry.Snapshot snapshot(int index, SplittableRandom random) {
+        CurrencyCode currency = CurrencyCode.values()[random.nextInt(CurrencyCode.values().length)];
+        BigDecimal amount = BigDecimal.valueOf(random.nextLong(-50_000, 500_000), 2);
+        boolean ordered = random.nextInt(10) < 7;
+        return FinancialLogEntry.Snapshot.builder()
+                .uuid(new UUID(random.nextLong(), random.nextLong()))
+                .sequenceNumber(index + 1L)
+                .status(random.nextInt(5) == 0 ? FinancialLogApi.Status.DRAFT : FinancialLogApi.Status.ACCEPTED)
+                .name((ordered ? "Order " + (100_000 + index) + " - " : "") + TAGS.get(random.nextInt(TAGS.size())))
+                .category(FinancialLogApi.Category.values()[random.nextInt(FinancialLogApi.Category.values().length)])
+                .settleDate(FIRST_SETTLE_DATE.plusDays(random.nextInt(365)))
+                .money(new Money(amount, currency))
+                .aedAmount(amount.multiply(BigDecimal.valueOf(random.nextInt(20_000, 50_000), 4))
+                        .setScale(2, RoundingMode.DOWN))
+                .reference(ordered
+                        ? new FinancialLogApi.Reference(
+                                "ORD-" + (100_000 + index),
+                                REFERENCE_TYPES.get(random.nextInt(REFERENCE_TYPES.size())),
+                                "B-" + random.nextInt(10_000))
+                        : null)
+                .notes(random.nextBoolean() ? "Settled with the provider, see invoice " + index : null)
+                .source(ordered ? FinancialLogApi.Source.SYSTEM : FinancialLogApi.Source.MANUAL)
+                .tags(tags(random))
+                .createdAt(FIRST_CREATED_AT.plusMinutes(index * 7L))
+                .build();
+    }
+
+    private static Set<String> tags(SplittableRandom random) {
+        int count = random.nextInt(5);
+        Set<String> tags = new HashSet<>();
+        while (tags.size() < count) {
+            tags.add(TAGS.get(random.nextInt(TAGS.size())));
+        }
+        return tags;
+    }
+
+    private static void set(FinancialLogEntry entry, String fieldName, Object value) {
+        try {
+            Field field = FinancialLogEntry.class.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(entry, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
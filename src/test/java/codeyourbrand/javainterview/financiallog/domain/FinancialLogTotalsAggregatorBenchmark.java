@@ -0,0 +1,68 @@
+package codeyourbrand.javainterview.financiallog.domain;
+
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Totals per category of many entries, with {@link BigDecimal} collectors as summaries are built today and with
+ * {@link FinancialLogTotalsAggregator}, sequentially and on parallel streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinancialLogTotalsAggregatorBenchmark {
+    @Param({"1000", "100000"})
+    int entries;
+
+    List<FinancialLogEntry.Snapshot> snapshots;
+
+    @Setup
+    public void setUp() {
+        snapshots = FinancialLogEntryFixtures.snapshots(entries);
+    }
+
+    @Benchmark
+    public Map<FinancialLogApi.Category, Map<Boolean, BigDecimal>> bigDecimalCollectors() {
+        return snapshots.stream()
+                .collect(Collectors.groupingBy(
+                        FinancialLogEntry.Snapshot::category,
+                        Collectors.partitioningBy(
+                                entry -> entry.aedAmount().signum() >= 0,
+                                Collectors.reducing(
+                                        BigDecimal.ZERO, FinancialLogEntry.Snapshot::aedAmount, BigDecimal::add))));
+    }
+
+    @Benchmark
+    public FinancialLogTotalsAggregator aggregator() {
+        FinancialLogTotalsAggregator aggregator = FinancialLogTotalsAggregator.byCategory();
+        for (FinancialLogEntry.Snapshot snapshot : snapshots) {
+            aggregator.add(snapshot);
+        }
+        return aggregator;
+    }
+
+    @Benchmark
+    public FinancialLogTotalsAggregator parallelAggregator() {
+        return snapshots.parallelStream()
+                .collect(FinancialLogTotalsAggregator.collector(FinancialLogTotalsAggregator::byCategory));
+    }
+}
@@ -0,0 +1,165 @@
+package codeyourbrand.javainterview.financiallog.domain;
+
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FinancialLogTotalsAggregatorTest {
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+
+    @Test
+    void splitsIncomeAndCostBySign() {
+        var aggregator = FinancialLogTotalsAggregator.byCategory()
+                .add(entry(FinancialLogApi.Category.OPERATIONS, FROM, "10.25"))
+                .add(entry(FinancialLogApi.Category.OPERATIONS, FROM, "0.00"))
+                .add(entry(FinancialLogApi.Category.OPERATIONS, FROM, "-3.50"))
+                .add(entry(FinancialLogApi.Category.EMPLOYEES, FROM, "-1.00"));
+
+        assertThat(aggregator.totals(FinancialLogApi.Category.OPERATIONS))
+                .isEqualTo(new FinancialLogTotalsAggregator.Totals(1025, -350, 3));
+        assertThat(aggregator.totals(FinancialLogApi.Category.OPERATIONS).profit()).isEqualTo(675);
+        assertThat(aggregator.totals(FinancialLogApi.Category.EMPLOYEES))
+                .isEqualTo(new FinancialLogTotalsAggregator.Totals(0, -100, 1));
+        assertThat(aggregator.total()).isEqualTo(new FinancialLogTotalsAggregator.Totals(1025, -450, 4));
+    }
+
+    @Test
+    void parallelCollectorCombinesToSequentialTotals() {
+        List<FinancialLogEntry.Snapshot> entries = entries(10_000);
+
+        var sequential = entries.stream().collect(byJanuaryToMarch());
+        var parallel = entries.parallelStream().collect(byJanuaryToMarch());
+
+        for (LocalDate date = FROM; !date.isAfter(TO); date = date.plusDays(1)) {
+            assertThat(parallel.totals(date)).isEqualTo(sequential.totals(date));
+        }
+        assertThat(parallel.total()).isEqualTo(sequential.total());
+        assertThat(parallel.total().count()).isEqualTo(entries.size());
+    }
+
+    @Test
+    void mergeAddsTotalsOfEveryGroup() {
+        List<FinancialLogEntry.Snapshot> entries = entries(1_000);
+        var first = FinancialLogTotalsAggregator.bySource();
+        var second = FinancialLogTotalsAggregator.bySource();
+        entries.subList(0, 400).forEach(first::add);
+        entries.subList(400, entries.size()).forEach(second::add);
+
+        var merged = first.merge(second);
+
+        var all = entries.stream()
+                .collect(FinancialLogTotalsAggregator.collector(FinancialLogTotalsAggregator::bySource));
+        for (FinancialLogApi.Source source : FinancialLogApi.Source.values()) {
+            assertThat(merged.totals(source)).isEqualTo(all.totals(source));
+        }
+    }
+
+    @Test
+    void mergeRejectsTotalsGroupedDifferently() {
+        assertThatThrownBy(() -> FinancialLogTotalsAggregator.byCategory()
+                .merge(FinancialLogTotalsAggregator.bySource()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FinancialLogTotalsAggregator.bySettleDate(FROM, TO)
+                .merge(FinancialLogTotalsAggregator.bySettleDate(FROM.plusDays(1), TO)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FinancialLogTotalsAggregator.bySettleDate(FROM, TO)
+                .merge(FinancialLogTotalsAggregator.bySettleDate(FROM, TO.plusDays(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void settleDateRangeIncludesFirstAndLastDay() {
+        var aggregator = FinancialLogTotalsAggregator.bySettleDate(FROM, TO)
+                .add(entry(FinancialLogApi.Category.OPERATIONS, FROM, "1.00"))
+                .add(entry(FinancialLogApi.Category.OPERATIONS, TO, "-2.00"));
+
+        assertThat(aggregator.totals(FROM)).isEqualTo(new FinancialLogTotalsAggregator.Totals(100, 0, 1));
+        assertThat(aggregator.totals(TO)).isEqualTo(new FinancialLogTotalsAggregator.Totals(0, -200, 1));
+        assertThat(aggregator.totals(FROM.plusDays(1))).isEqualTo(new FinancialLogTotalsAggregator.Totals(0, 0, 0));
+    }
+
+    @Test
+    void settleDateOutsideRangeIsRejected() {
+        var aggregator = FinancialLogTotalsAggregator.bySettleDate(FROM, TO);
+
+        assertThatThrownBy(() -> aggregator.add(entry(FinancialLogApi.Category.OPERATIONS, FROM.minusDays(1), "1.00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> aggregator.add(entry(FinancialLogApi.Category.OPERATIONS, TO.plusDays(1), "1.00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> aggregator.totals(TO.plusDays(1))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(aggregator.total().count()).isZero();
+    }
+
+    @Test
+    void settleDateRangeMustNotBeEmpty() {
+        var oneDay = FinancialLogTotalsAggregator.bySettleDate(FROM, FROM)
+                .add(entry(FinancialLogApi.Category.OPERATIONS, FROM, "1.00"));
+
+        assertThat(oneDay.total().count()).isEqualTo(1);
+        assertThatThrownBy(() -> FinancialLogTotalsAggregator.bySettleDate(FROM, FROM.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void totalsOfOtherDimensionAreRejected() {
+        var aggregator = FinancialLogTotalsAggregator.byStatus();
+
+        assertThatThrownBy(() -> aggregator.totals(FinancialLogApi.Category.OPERATIONS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> aggregator.totals(FROM)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sumThrowsOnOverflow() {
+        var aggregator = FinancialLogTotalsAggregator.byCategory().add(
+                FinancialLogApi.Category.OPERATIONS, FinancialLogApi.Source.MANUAL, FinancialLogApi.Status.ACCEPTED,
+                FROM.toEpochDay(), Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> aggregator.add(
+                FinancialLogApi.Category.OPERATIONS, FinancialLogApi.Source.MANUAL, FinancialLogApi.Status.ACCEPTED,
+                FROM.toEpochDay(), 1))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    private static Collector<FinancialLogEntry.Snapshot, ?, FinancialLogTotalsAggregator> byJanuaryToMarch() {
+        return FinancialLogTotalsAggregator.collector(() -> FinancialLogTotalsAggregator.bySettleDate(FROM, TO));
+    }
+
+    private static List<FinancialLogEntry.Snapshot> entries(int size) {
+        FinancialLogApi.Category[] categories = FinancialLogApi.Category.values();
+        FinancialLogApi.Source[] sources = FinancialLogApi.Source.values();
+        FinancialLogApi.Status[] statuses = FinancialLogApi.Status.values();
+        int days = (int) (TO.toEpochDay() - FROM.toEpochDay() + 1);
+        SplittableRandom random = new SplittableRandom(size);
+        return IntStream.range(0, size)
+                .mapToObj(i -> FinancialLogEntry.Snapshot.builder()
+                        .category(categories[random.nextInt(categories.length)])
+                        .source(sources[random.nextInt(sources.length)])
+                        .status(statuses[random.nextInt(statuses.length)])
+                        .settleDate(FROM.plusDays(random.nextInt(days)))
+                        .aedAmount(BigDecimal.valueOf(random.nextLong(-100_000, 100_000), 2))
+                        .build())
+                .toList();
+    }
+
+    private static FinancialLogEntry.Snapshot entry(
+            FinancialLogApi.Category category, LocalDate settleDate, String aedAmount) {
+        return FinancialLogEntry.Snapshot.builder()
+                .category(category)
+                .source(FinancialLogApi.Source.MANUAL)
+                .status(FinancialLogApi.Status.ACCEPTED)
+                .settleDate(settleDate)
+                .aedAmount(new BigDecimal(aedAmount))
+                .build();
+    }
+}
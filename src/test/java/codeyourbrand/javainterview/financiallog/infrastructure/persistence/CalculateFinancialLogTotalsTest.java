@@ -0,0 +1,97 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.PostgresTestDatabase;
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.MinorUnitMoney;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApplicationService;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogTotalsAggregator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("local")
+class CalculateFinancialLogTotalsTest {
+    private static final LocalDate FROM = LocalDate.of(2041, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2041, 1, 31);
+
+    @Autowired
+    private FinancialLogApplicationService financialLogApplicationService;
+
+    @Autowired
+    private CalculateFinancialLogTotals calculateFinancialLogTotals;
+
+    @Autowired
+    private FinancialLogEntryRepository financialLogEntryRepository;
+
+    @Autowired
+    private FinancialLogTagDictionary financialLogTagDictionary;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    /**
+     * Income and cost of entries in different currencies, with both signs and a zero amount, summed in memory agree
+     * with the totals of the entry table and of the daily rollup.
+     */
+    @Test
+    void aggregatorAgreesWithDatabaseTotals() {
+        String marker = "totals-" + UUID.randomUUID();
+        createEntry(marker, FinancialLogApi.Category.OPERATIONS, FROM, "125.40", CurrencyCode.AED);
+        createEntry(marker, FinancialLogApi.Category.OPERATIONS, FROM, "-20.15", CurrencyCode.AED);
+        createEntry(marker, FinancialLogApi.Category.EMPLOYEES, FROM.plusDays(3), "-1999.99", CurrencyCode.EUR);
+        createEntry(marker, FinancialLogApi.Category.HOLIDAY_HOMES, FROM.plusDays(9), "0.00", CurrencyCode.AED);
+        createEntry(marker, FinancialLogApi.Category.TOURS_AND_TRAVEL, TO, "333.33", CurrencyCode.EUR);
+        createEntry(marker, FinancialLogApi.Category.TOURS_AND_TRAVEL, TO, "-0.01", CurrencyCode.EUR);
+
+        var byName = new FinancialLogApi.GetFinancialLogFiltersRequest();
+        byName.setName(marker);
+        var bySettleDate = new FinancialLogApi.GetFinancialLogFiltersRequest();
+        bySettleDate.setSettleDateFrom(FROM);
+        bySettleDate.setSettleDateTo(TO);
+
+        FinancialLogTotalsAggregator.Totals aggregated = financialLogEntryRepository
+                .findAll(new FinancialLogEntrySpecification(byName, financialLogTagDictionary))
+                .stream()
+                .map(FinancialLogEntry::toSnapshot)
+                .collect(FinancialLogTotalsAggregator.collector(
+                        () -> FinancialLogTotalsAggregator.bySettleDate(FROM, TO)))
+                .total();
+        assertThat(aggregated.count()).isEqualTo(6);
+        assertAgree(aggregated, calculateFinancialLogTotals.calculateIncomeCostAndProfit(byName));
+        assertAgree(aggregated, calculateFinancialLogTotals.calculateIncomeCostAndProfit(bySettleDate));
+    }
+
+    private static void assertAgree(
+            FinancialLogTotalsAggregator.Totals aggregated,
+            CalculateFinancialLogTotals.IncomeCostAndProfit calculated) {
+        assertThat(MinorUnitMoney.toAmount(aggregated.income())).isEqualByComparingTo(calculated.income());
+        assertThat(MinorUnitMoney.toAmount(aggregated.cost())).isEqualByComparingTo(calculated.cost());
+        assertThat(MinorUnitMoney.toAmount(aggregated.profit())).isEqualByComparingTo(calculated.profit());
+        assertThat(aggregated.count()).isEqualTo(calculated.count());
+    }
+
+    private void createEntry(
+            String name,
+            FinancialLogApi.Category category,
+            LocalDate settleDate,
+            String amount,
+            CurrencyCode currency) {
+        financialLogApplicationService.createManualLog(new FinancialLogApi.CreateFinancialLogRequest(
+                category, name, settleDate, Money.of(amount, currency), null, Set.of(), null));
+    }
+}
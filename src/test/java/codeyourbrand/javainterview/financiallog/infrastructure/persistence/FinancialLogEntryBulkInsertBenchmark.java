@@ -0,0 +1,159 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntryFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.hibernate.SpringBeanContainer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares entries per second of {@code saveAll} and {@code flush} of the entry repository, the path used before
+ * {@link FinancialLogEntryBulkInsert}, with the chunked bulk insert statement, on a CreateMultipleFinancialLogs-sized
+ * payload.
+ * <p>
+ * The repository runs on Hibernate with the application's JDBC batching settings. Needs a PostgreSQL database with the
+ * financial_log schema. Every round is rolled back, so the table does not grow:
+ * <pre>
+ * java -cp target/classes:target/test-classes:&lt;dependencies&gt; \
+ *     -Dbenchmark.jdbc-url=jdbc:postgresql://localhost:5432/app -Dbenchmark.user=app -Dbenchmark.password=app \
+ *     codeyourbrand.javainterview.financiallog.infrastructure.persistence.FinancialLogEntryBulkInsertBenchmark
+ * </pre>
+ */
+class FinancialLogEntryBulkInsertBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static void main(String[] args) throws SQLException {
+        int entries = Integer.getInteger("benchmark.entries", 500);
+        List<FinancialLogEntry.Snapshot> payload = payload(entries);
+
+        String url = System.getProperty("benchmark.jdbc-url");
+        String user = System.getProperty("benchmark.user");
+        String password = System.getProperty("benchmark.password");
+        FinancialLogTagDictionary dictionary =
+                new FinancialLogTagDictionary(new JdbcTemplate(new DriverManagerDataSource(url, user, password)));
+        dictionary.load();
+
+        try (SessionFactory sessionFactory = sessionFactory(url, user, password, dictionary);
+                EntityManager entityManager = sessionFactory.createEntityManager()) {
+            FinancialLogEntryRepository repository =
+                    new JpaRepositoryFactory(entityManager).getRepository(FinancialLogEntryRepository.class);
+            EntityTransaction transaction = entityManager.getTransaction();
+
+            report("saveAll + flush", entries, measure(
+                    () -> {
+                        transaction.begin();
+                        repository.saveAll(FinancialLogEntryFixtures.newEntries(payload));
+                        repository.flush();
+                    },
+                    () -> {
+                        transaction.rollback();
+                        entityManager.clear();
+                    }));
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+
+            report("bulk unnest INSERT RETURNING", entries,
+                    measure(() -> insertBulk(connection, payload, dictionary), connection::rollback));
+        }
+    }
+
+    /**
+     * Bootstraps Hibernate with the entry mapping and the batching settings of application.properties.
+     */
+    private static SessionFactory sessionFactory(
+            String url, String user, String password, FinancialLogTagDictionary dictionary) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("financialLogTagDictionary", dictionary);
+
+        Configuration configuration = new Configuration().addAnnotatedClass(FinancialLogEntry.class);
+        configuration.getProperties().put(AvailableSettings.JAKARTA_JDBC_URL, url);
+        configuration.getProperties().put(AvailableSettings.JAKARTA_JDBC_USER, user);
+        configuration.getProperties().put(AvailableSettings.JAKARTA_JDBC_PASSWORD, password);
+        configuration.getProperties().put(AvailableSettings.STATEMENT_BATCH_SIZE, "50");
+        configuration.getProperties().put(AvailableSettings.ORDER_INSERTS, "true");
+        configuration.getProperties().put(AvailableSettings.ORDER_UPDATES, "true");
+        configuration.getProperties().put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+        return configuration.buildSessionFactory();
+    }
+
+    private static double measure(Round round, Round rollback) throws SQLException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.run();
+            rollback.run();
+        }
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            round.run();
+            elapsed += System.nanoTime() - start;
+            rollback.run();
+        }
+        return elapsed / 1_000_000_000.0 / MEASURED_ROUNDS;
+    }
+
+    private static void report(String path, int entries, double secondsPerRound) {
+        System.out.printf("%-30s %8d entries/s (%.1f ms per %d entries)%n",
+                path, Math.round(entries / secondsPerRound), secondsPerRound * 1000, entries);
+    }
+
+    private static void insertBulk(
+            Connection connection, List<FinancialLogEntry.Snapshot> payload, FinancialLogTagDictionary dictionary)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(FinancialLogEntryBulkInsert.INSERT_SQL)) {
+            FinancialLogEntryBulkInsert.bind(insert, payload, dictionary);
+            try (ResultSet rs = insert.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong("sequence_number");
+                }
+            }
+        }
+    }
+
+    private static List<FinancialLogEntry.Snapshot> payload(int entries) {
+        List<FinancialLogEntry.Snapshot> payload = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            BigDecimal amount = BigDecimal.valueOf((i % 2 == 0 ? 1 : -1) * (1000 + i), 2);
+            payload.add(FinancialLogEntry.Snapshot.builder()
+                    .status(FinancialLogApi.Status.ACCEPTED)
+                    .name("Order payment " + i)
+                    .category(FinancialLogApi.Category.TOURS_AND_TRAVEL)
+                    .source(FinancialLogApi.Source.SYSTEM)
+                    .settleDate(LocalDate.now())
+                    .money(new Money(amount, CurrencyCode.AED))
+                    .aedAmount(amount)
+                    .reference(new FinancialLogApi.Reference("order-" + i / 3, "ATTRACTION", "ORD-" + i / 3))
+                    .tags(Set.of("payment", "order"))
+                    .build());
+        }
+        return payload;
+    }
+
+    @FunctionalInterface
+    private interface Round {
+        void run() throws SQLException;
+    }
+}
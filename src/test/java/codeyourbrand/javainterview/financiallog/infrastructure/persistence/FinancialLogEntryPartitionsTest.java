@@ -0,0 +1,130 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.PostgresTestDatabase;
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApplicationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The tests use months no other test writes to, as detaching removes every partition before the given month.
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+class FinancialLogEntryPartitionsTest {
+    private static final String SELECT_PARTITION_SQL =
+            "SELECT tableoid::regclass::text FROM financial_log.financial_log_entry WHERE uuid = ?";
+
+    @Autowired
+    private FinancialLogApplicationService financialLogApplicationService;
+
+    @Autowired
+    private FinancialLogEntryPartitions financialLogEntryPartitions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void createPartitionMovesEntriesOfTheMonthOutOfDefaultPartition() {
+        String marker = "partition-" + UUID.randomUUID();
+        UUID inMonth = createEntry(marker, LocalDate.of(2045, 3, 31), "10.00");
+        UUID nextMonth = createEntry(marker, LocalDate.of(2045, 4, 1), "20.00");
+        assertThat(partitionOf(inMonth)).isEqualTo("financial_log.financial_log_entry_default");
+
+        assertThat(financialLogEntryPartitions.createPartition(YearMonth.of(2045, 3))).isTrue();
+
+        assertThat(partitionOf(inMonth)).isEqualTo("financial_log.financial_log_entry_2045_03");
+        assertThat(partitionOf(nextMonth)).isEqualTo("financial_log.financial_log_entry_default");
+        assertThat(financialLogEntryPartitions.createPartition(YearMonth.of(2045, 3))).isFalse();
+
+        UUID created = createEntry(marker, LocalDate.of(2045, 3, 1), "30.00");
+        assertThat(partitionOf(created)).isEqualTo("financial_log.financial_log_entry_2045_03");
+    }
+
+    /**
+     * Totals read from the daily rollup and from the entries agree before and after the detach, so the detached
+     * entries drop out of both.
+     */
+    @Test
+    void archivingDetachesPartitionAndRemovesItsEntriesFromTotals() {
+        String marker = "archive-" + UUID.randomUUID();
+        assertThat(financialLogEntryPartitions.createPartition(YearMonth.of(1990, 1))).isTrue();
+        assertThat(financialLogEntryPartitions.createPartition(YearMonth.of(1990, 2))).isTrue();
+        UUID archived = createEntry(marker, LocalDate.of(1990, 1, 15), "100.00");
+        createEntry(marker, LocalDate.of(1990, 1, 31), "-40.00");
+        UUID kept = createEntry(marker, LocalDate.of(1990, 2, 1), "5.00");
+
+        var byName = new FinancialLogApi.GetFinancialLogFiltersRequest();
+        byName.setName(marker);
+        var bySettleDate = new FinancialLogApi.GetFinancialLogFiltersRequest();
+        bySettleDate.setSettleDateFrom(LocalDate.of(1990, 1, 1));
+        bySettleDate.setSettleDateTo(LocalDate.of(1990, 2, 28));
+        assertTotals(byName, "105.00", "-40.00", 3);
+        assertTotals(bySettleDate, "105.00", "-40.00", 3);
+        assertThat(orderSketchRows(LocalDate.of(1990, 1, 15))).isEqualTo(1);
+
+        assertThat(financialLogApplicationService.archiveEntriesSettledBefore(YearMonth.of(1990, 2)))
+                .containsExactly("financial_log_entry_1990_01");
+
+        assertTotals(byName, "5.00", "0.00", 1);
+        assertTotals(bySettleDate, "5.00", "0.00", 1);
+        assertThat(orderSketchRows(LocalDate.of(1990, 1, 15))).isZero();
+        assertThat(orderSketchRows(LocalDate.of(1990, 2, 1))).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM financial_log.financial_log_entry_1990_01 WHERE uuid = ?", Long.class, archived))
+                .isEqualTo(1);
+        assertThat(partitionOf(kept)).isEqualTo("financial_log.financial_log_entry_1990_02");
+        assertThat(financialLogApplicationService.archiveEntriesSettledBefore(YearMonth.of(1990, 2))).isEmpty();
+    }
+
+    private void assertTotals(
+            FinancialLogApi.GetFinancialLogFiltersRequest filters, String income, String cost, int count) {
+        var summary = financialLogApplicationService.getSummaryWithPageByCategory(filters);
+        assertThat(summary.getIncome()).isEqualByComparingTo(income);
+        assertThat(summary.getCost()).isEqualByComparingTo(cost);
+        assertThat(summary.getPagination().getTotalElements()).isEqualTo(count);
+        assertThat(summary.getFinancialLogListItemResponses()).hasSize(count);
+    }
+
+    private long orderSketchRows(LocalDate settleDate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM financial_log.financial_log_order_sketch WHERE settle_date = ?",
+                Long.class,
+                settleDate);
+    }
+
+    private String partitionOf(UUID uuid) {
+        return jdbcTemplate.queryForObject(SELECT_PARTITION_SQL, String.class, uuid);
+    }
+
+    private UUID createEntry(String name, LocalDate settleDate, String amount) {
+        return financialLogApplicationService.createManualLog(new FinancialLogApi.CreateFinancialLogRequest(
+                FinancialLogApi.Category.OPERATIONS,
+                name,
+                settleDate,
+                Money.of(amount, CurrencyCode.AED),
+                FinancialLogApi.Status.ACCEPTED,
+                new FinancialLogApi.Reference(name + "-" + settleDate, "STAY", null),
+                Set.of(),
+                null)).uuid();
+    }
+}
@@ -0,0 +1,131 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntryFixtures;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.hibernate.SpringBeanContainer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ListIterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Builds the criteria predicate of typical filters, including the criteria query and root Spring Data creates for
+ * every specification query.
+ * <p>
+ * Hibernate is bootstrapped without a database and the tag dictionary reads the fixture tags, so no PostgreSQL is
+ * needed. {@code BASIC} filters by status and settle date range, {@code FULL} sets every filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinancialLogEntrySpecificationBenchmark {
+    @Param({"BASIC", "FULL"})
+    String filters;
+
+    SessionFactory sessionFactory;
+    CriteriaBuilder criteriaBuilder;
+    FinancialLogEntrySpecification specification;
+
+    @Setup
+    public void setUp() {
+        FinancialLogTagDictionary dictionary = new FinancialLogTagDictionary(new JdbcTemplate(tagDataSource()));
+        dictionary.load();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("financialLogTagDictionary", dictionary);
+
+        Configuration configuration = new Configuration().addAnnotatedClass(FinancialLogEntry.class);
+        configuration.getProperties().put(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName());
+        configuration.getProperties().put(AvailableSettings.ALLOW_METADATA_ON_BOOT, "false");
+        configuration.getProperties().put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+        sessionFactory = configuration.buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        specification = new FinancialLogEntrySpecification(filters(filters), dictionary);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        CriteriaQuery<FinancialLogEntry> query = criteriaBuilder.createQuery(FinancialLogEntry.class);
+        Root<FinancialLogEntry> root = query.from(FinancialLogEntry.class);
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+
+    private static FinancialLogApi.GetFinancialLogFiltersRequest filters(String shape) {
+        var filters = new FinancialLogApi.GetFinancialLogFiltersRequest();
+        filters.setStatus(FinancialLogApi.Status.ACCEPTED);
+        filters.setSettleDateFrom(LocalDate.of(2025, 3, 1));
+        filters.setSettleDateTo(LocalDate.of(2025, 3, 31));
+        if (shape.equals("FULL")) {
+            filters.setName("order");
+            filters.setCategory(FinancialLogApi.Category.TOURS_AND_TRAVEL);
+            filters.setValueFrom(new BigDecimal("100.00"));
+            filters.setValueTo(new BigDecimal("10000.00"));
+            filters.setTags(Set.of("attraction", "ticket"));
+            filters.setExcludedTags(Set.of("refund"));
+            filters.setSource(FinancialLogApi.Source.SYSTEM);
+            filters.setReferenceBusinessId("B-42");
+        }
+        return filters;
+    }
+
+    /**
+     * Answers the dictionary's only query with the fixture tags, numbered from 1.
+     */
+    private static DataSource tagDataSource() {
+        ListIterator<String> names = FinancialLogEntryFixtures.TAGS.listIterator();
+        ResultSet tags = proxy(ResultSet.class, method -> switch (method.getName()) {
+            case "next" -> names.hasNext() && names.next() != null;
+            case "getString" -> FinancialLogEntryFixtures.TAGS.get(names.previousIndex());
+            case "getInt" -> names.previousIndex() + 1;
+            default -> null;
+        });
+        Statement statement = proxy(Statement.class, method -> method.getName().equals("executeQuery") ? tags : null);
+        Connection connection =
+                proxy(Connection.class, method -> method.getName().equals("createStatement") ? statement : null);
+        return proxy(DataSource.class, method -> method.getName().equals("getConnection") ? connection : null);
+    }
+
+    private static <T> T proxy(Class<T> type, Function<Method, Object> answer) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> answer.apply(method)));
+    }
+}
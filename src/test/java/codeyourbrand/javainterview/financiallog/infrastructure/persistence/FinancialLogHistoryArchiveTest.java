@@ -0,0 +1,171 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.PostgresTestDatabase;
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogHistory;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records are written with creation times long before those of other tests, so archiving them leaves the history of
+ * other tests in the hot table.
+ */
+@SpringBootTest(properties = "financial-log.history-archive.batch-size=2")
+@ActiveProfiles("local")
+class FinancialLogHistoryArchiveTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(1980, 1, 1, 10, 0);
+    private static final RecursiveComparisonConfiguration AMOUNTS_BY_VALUE = RecursiveComparisonConfiguration.builder()
+            .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+            .build();
+    private static final String INSERT_HISTORY_SQL =
+            """
+            INSERT INTO financial_log.financial_log_history
+                (uuid, financial_log_uuid, created_at, created_by, financial_log_name, settle_date, action, status,
+                 tag_ids, notes, original_amount, original_currency, converted_amount, converted_currency, category,
+                 reference_id, reference_type, reference_business_id)
+            VALUES (gen_random_uuid(), ?, ?, ?, ?, ?, ?, ?, ?::int[], ?, ?, ?, ?, 'AED', ?, ?, ?, ?)
+            """;
+
+    @Autowired
+    private FinancialLogHistoryArchive financialLogHistoryArchive;
+
+    @Autowired
+    private FinancialLogTagDictionary financialLogTagDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    /**
+     * Three records older than the cut-off are moved in batches of two, the second batch appending to the archive row
+     * the first one created. A later run appends the remaining record, and reads see every record once throughout.
+     */
+    @Test
+    void archivingAppendsRecordsToArchiveRowOfTheirEntry() {
+        UUID financialLogUuid = UUID.randomUUID();
+        String tag = "archive-" + UUID.randomUUID();
+        var created = snapshot(CREATED_AT, "CREATED", Set.of(tag), null, null);
+        var renamed = snapshot(CREATED_AT.plusHours(1), "UPDATED", Set.of(), "renamed", null);
+        var accepted = snapshot(
+                CREATED_AT.plusHours(2),
+                "ACCEPTED",
+                Set.of(tag),
+                null,
+                new FinancialLogApi.Reference("R-1", "STAY", null));
+        var recent = snapshot(CREATED_AT.plusDays(2), "UPDATED", Set.of(), "recent", null);
+        List.of(renamed, recent, created, accepted).forEach(record -> insert(financialLogUuid, record));
+        List<FinancialLogHistory.Snapshot> newestFirst = List.of(recent, accepted, renamed, created);
+
+        assertThat(financialLogHistoryArchive.archiveCreatedBefore(CREATED_AT.plusDays(1))).isEqualTo(3);
+
+        assertThat(hotRecords(financialLogUuid)).isEqualTo(1);
+        assertThat(archivedActions(financialLogUuid)).containsExactly("CREATED", "UPDATED", "ACCEPTED");
+        assertThat(financialLogHistoryArchive.findHistory(financialLogUuid))
+                .usingRecursiveFieldByFieldElementComparator(AMOUNTS_BY_VALUE)
+                .containsExactlyElementsOf(newestFirst);
+
+        assertThat(financialLogHistoryArchive.archiveCreatedBefore(CREATED_AT.plusDays(3))).isEqualTo(1);
+
+        assertThat(hotRecords(financialLogUuid)).isZero();
+        assertThat(archivedActions(financialLogUuid)).containsExactly("CREATED", "UPDATED", "ACCEPTED", "UPDATED");
+        assertThat(financialLogHistoryArchive.findHistory(financialLogUuid))
+                .usingRecursiveFieldByFieldElementComparator(AMOUNTS_BY_VALUE)
+                .containsExactlyElementsOf(newestFirst);
+        assertThat(financialLogHistoryArchive.archiveCreatedBefore(CREATED_AT.plusDays(3))).isZero();
+    }
+
+    @Test
+    void deleteHistoryDeletesHotAndArchivedRecords() {
+        UUID financialLogUuid = UUID.randomUUID();
+        UUID otherUuid = UUID.randomUUID();
+        insert(financialLogUuid, snapshot(CREATED_AT.minusYears(1), "CREATED", Set.of(), null, null));
+        insert(otherUuid, snapshot(CREATED_AT.minusYears(1), "CREATED", Set.of(), null, null));
+        financialLogHistoryArchive.archiveCreatedBefore(CREATED_AT.minusYears(1).plusDays(1));
+        insert(financialLogUuid, snapshot(CREATED_AT.plusYears(1), "UPDATED", Set.of(), null, null));
+
+        financialLogHistoryArchive.deleteHistory(List.of(financialLogUuid));
+
+        assertThat(financialLogHistoryArchive.findHistory(financialLogUuid)).isEmpty();
+        assertThat(financialLogHistoryArchive.findHistory(otherUuid)).hasSize(1);
+    }
+
+    private void insert(UUID financialLogUuid, FinancialLogHistory.Snapshot record) {
+        FinancialLogApi.Reference reference = record.reference();
+        jdbcTemplate.update(
+                INSERT_HISTORY_SQL,
+                financialLogUuid,
+                Timestamp.valueOf(record.createdAt()),
+                record.createdBy(),
+                record.financialLogName(),
+                record.settleDate(),
+                record.action(),
+                record.status().name(),
+                FinancialLogTagDictionary.toArrayLiteral(financialLogTagDictionary.encode(record.tags())),
+                record.notes(),
+                record.originalMoney().getAmount(),
+                record.originalMoney().getCurrency().name(),
+                record.aedAmount(),
+                record.category().name(),
+                reference != null ? reference.id() : null,
+                reference != null ? reference.type() : null,
+                reference != null ? reference.businessId() : null);
+    }
+
+    private long hotRecords(UUID financialLogUuid) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM financial_log.financial_log_history WHERE financial_log_uuid = ?",
+                Long.class,
+                financialLogUuid);
+    }
+
+    private List<String> archivedActions(UUID financialLogUuid) {
+        return jdbcTemplate.queryForList(
+                "SELECT unnest(action) FROM financial_log.financial_log_history_archive WHERE financial_log_uuid = ?",
+                String.class,
+                financialLogUuid);
+    }
+
+    private static FinancialLogHistory.Snapshot snapshot(
+            LocalDateTime createdAt,
+            String action,
+            Set<String> tags,
+            String notes,
+            FinancialLogApi.Reference reference) {
+        return FinancialLogHistory.Snapshot.builder()
+                .createdAt(createdAt)
+                .createdBy("archive@test")
+                .financialLogName("Archived entry")
+                .settleDate(LocalDate.of(1980, 1, 15))
+                .action(action)
+                .status(reference != null ? FinancialLogApi.Status.ACCEPTED : FinancialLogApi.Status.DRAFT)
+                .tags(tags)
+                .notes(notes)
+                .originalMoney(Money.of("-12.50", CurrencyCode.EUR))
+                .aedAmount(new BigDecimal("-50.60"))
+                .category(FinancialLogApi.Category.OPERATIONS)
+                .reference(reference)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FinancialLogHistoryWriterTest {
+    private static final FinancialLogHistory.Snapshot SNAPSHOT = FinancialLogHistory.Snapshot.builder().build();
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofMillis(500);
+
+    private final FinancialLogRepository financialLogRepository = mock(FinancialLogRepository.class);
+    private final FinancialLogHistoryWriter writer = new FinancialLogHistoryWriter(
+            financialLogRepository,
+            mock(PlatformTransactionManager.class),
+            100,
+            10,
+            Duration.ofMillis(10),
+            Duration.ofSeconds(1),
+            3,
+            Duration.ofMillis(10),
+            SHUTDOWN_TIMEOUT);
+
+    /**
+     * Entry uuids of every createHistory call, copied as the writer reuses its batch list.
+     */
+    private final List<List<UUID>> writes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void start() {
+        writer.start();
+    }
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        writer.shutdown();
+    }
+
+    @Test
+    void retriesFailedBatch() {
+        UUID uuid = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+        answerCreateHistory(batch -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new TransientDataAccessResourceException("connection lost");
+            }
+        });
+
+        writer.enqueue(Map.of(uuid, SNAPSHOT), Instant.now());
+
+        verify(financialLogRepository, timeout(2000).times(3)).createHistory(any());
+        assertThat(writes).containsExactly(List.of(uuid), List.of(uuid), List.of(uuid));
+    }
+
+    @Test
+    void writesRecordsOneByOneWhenBatchKeepsFailing() {
+        UUID bad = UUID.randomUUID();
+        UUID good = UUID.randomUUID();
+        answerCreateHistory(batch -> {
+            if (batch.contains(bad)) {
+                throw new TransientDataAccessResourceException("value too long");
+            }
+        });
+
+        writer.enqueue(Map.of(bad, SNAPSHOT, good, SNAPSHOT), Instant.now());
+
+        verify(financialLogRepository, timeout(2000).times(5)).createHistory(any());
+        assertThat(writes.subList(0, 3)).allSatisfy(batch -> assertThat(batch).containsExactlyInAnyOrder(bad, good));
+        assertThat(writes.subList(3, 5)).containsExactlyInAnyOrder(List.of(bad), List.of(good));
+    }
+
+    @Test
+    void writesRecordsEnqueuedAfterShutdownRightAway() throws InterruptedException {
+        UUID uuid = UUID.randomUUID();
+        answerCreateHistory(batch -> {});
+        writer.shutdown();
+
+        writer.enqueue(Map.of(uuid, SNAPSHOT), Instant.now());
+
+        assertThat(writes).containsExactly(List.of(uuid));
+    }
+
+    @Test
+    void shutdownDropsQueuedRecordsWhenWriterDoesNotStopInTime() throws InterruptedException {
+        UUID stuck = UUID.randomUUID();
+        UUID queued = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        answerCreateHistory(batch -> awaitUninterruptibly(release));
+        writer.enqueue(Map.of(stuck, SNAPSHOT), Instant.now());
+        verify(financialLogRepository, timeout(2000)).createHistory(any());
+        writer.enqueue(Map.of(queued, SNAPSHOT), Instant.now());
+
+        long start = System.nanoTime();
+        writer.shutdown();
+        Duration shutdown = Duration.ofNanos(System.nanoTime() - start);
+        release.countDown();
+
+        assertThat(shutdown).isGreaterThanOrEqualTo(SHUTDOWN_TIMEOUT).isLessThan(SHUTDOWN_TIMEOUT.multipliedBy(4));
+        assertThat(writes).containsExactly(List.of(stuck));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void answerCreateHistory(Consumer<List<UUID>> answer) {
+        when(financialLogRepository.createHistory(any())).thenAnswer(invocation -> {
+            List<FinancialLogRepository.PendingHistory> batch = invocation.getArgument(0);
+            List<UUID> uuids = batch.stream().map(FinancialLogRepository.PendingHistory::financialLogUuid).toList();
+            writes.add(uuids);
+            answer.accept(uuids);
+            return Set.of();
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FinancialLogOrderSketchRepositoryTest {
+    private static final int REGISTERS = 4096;
+
+    @Test
+    void estimatesZeroForEmptySketch() {
+        assertThat(FinancialLogOrderSketchRepository.estimate(new short[REGISTERS])).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 10, 20})
+    void estimatesTinyCardinalitiesExactly(int cardinality) {
+        assertThat(FinancialLogOrderSketchRepository.estimate(sketch(cardinality, cardinality))).isEqualTo(cardinality);
+    }
+
+    /**
+     * Small cardinalities are estimated by linear counting, whose standard error is
+     * {@code sqrt(m * (e^t - t - 1))} for {@code m} registers and {@code t = n / m}.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {100, 500, 1_000, 5_000, 10_000})
+    void estimatesSmallCardinalitiesWithinThreeLinearCountingErrors(int cardinality) {
+        long estimate = FinancialLogOrderSketchRepository.estimate(sketch(cardinality, cardinality));
+
+        double load = (double) cardinality / REGISTERS;
+        double standardError = Math.sqrt(REGISTERS * (Math.exp(load) - load - 1));
+        assertThat((double) estimate).isCloseTo(cardinality, within(3 * standardError));
+    }
+
+    /**
+     * Starts just above the switch from linear counting to the raw estimate at 2.5 times the registers.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {11_000, 50_000, 200_000, 1_000_000})
+    void estimatesTypicalCardinalitiesWithinThreeStandardErrors(int cardinality) {
+        long estimate = FinancialLogOrderSketchRepository.estimate(sketch(cardinality, cardinality));
+
+        assertThat((double) estimate).isCloseTo(
+                cardinality, within(cardinality * 3 * FinancialLogOrderSketchRepository.RELATIVE_STANDARD_ERROR));
+    }
+
+    @Test
+    void estimatesDuplicatesOnce() {
+        assertThat(FinancialLogOrderSketchRepository.estimate(sketch(10, 1_000)))
+                .isEqualTo(FinancialLogOrderSketchRepository.estimate(sketch(10, 10)));
+    }
+
+    /**
+     * Builds the registers like {@code financial_log.order_sketch}, with random values standing in for the 64-bit
+     * hashes of the references.
+     *
+     * @param cardinality number of distinct references
+     * @param size        number of added references, cycling through the distinct ones
+     */
+    private static short[] sketch(int cardinality, int size) {
+        long[] hashes = new SplittableRandom(cardinality).longs(cardinality).toArray();
+        short[] registers = new short[REGISTERS];
+        for (int i = 0; i < size; i++) {
+            long hash = hashes[i % cardinality];
+            int register = (int) (hash >>> 52);
+            short rank = (short) Math.min(53, Long.numberOfLeadingZeros(hash << 12) + 1);
+            registers[register] = (short) Math.max(registers[register], rank);
+        }
+        return registers;
+    }
+}
@@ -0,0 +1,80 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.PostgresTestDatabase;
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApplicationService;
+import codeyourbrand.javainterview.financiallog.domain.FinancialLogEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "financial-log.reference-lookup.chunk-size=2")
+@ActiveProfiles("local")
+class FinancialLogReferenceLookupTest {
+    @Autowired
+    private FinancialLogApplicationService financialLogApplicationService;
+
+    @Autowired
+    private FinancialLogReferenceLookup financialLogReferenceLookup;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    /**
+     * Five references looked up in chunks of two: a missing business id matches only entries without one, and the
+     * reference type has to match as well.
+     */
+    @Test
+    void findsEntriesOfEveryChunkMatchingMissingBusinessIdOnlyWithoutOne() {
+        String marker = "reference-" + UUID.randomUUID();
+        var withoutBusinessId = new FinancialLogApi.Reference(marker + "-1", "STAY", null);
+        var withBusinessId = new FinancialLogApi.Reference(marker + "-1", "STAY", "B-1");
+        var otherType = new FinancialLogApi.Reference(marker + "-1", "ATTRACTION", null);
+        var second = new FinancialLogApi.Reference(marker + "-2", "ATTRACTION", "B-2");
+        var third = new FinancialLogApi.Reference(marker + "-3", "PACKAGE_HOLIDAY", null);
+        UUID withoutBusinessIdEntry = createEntry(marker, withoutBusinessId);
+        UUID withBusinessIdEntry = createEntry(marker, withBusinessId);
+        createEntry(marker, otherType);
+        UUID secondEntry = createEntry(marker, second);
+        UUID thirdEntry = createEntry(marker, third);
+
+        var found = financialLogReferenceLookup.findByReferences(Set.of(
+                withoutBusinessId,
+                withBusinessId,
+                second,
+                third,
+                new FinancialLogApi.Reference(marker + "-missing", "STAY", null)));
+
+        assertThat(found).extracting(FinancialLogEntry::toUuidOnly)
+                .containsExactlyInAnyOrder(withoutBusinessIdEntry, withBusinessIdEntry, secondEntry, thirdEntry);
+        assertThat(financialLogReferenceLookup.findByReferences(Set.of(withoutBusinessId)))
+                .extracting(FinancialLogEntry::toUuidOnly)
+                .containsExactly(withoutBusinessIdEntry);
+        assertThat(financialLogReferenceLookup.findByReferences(Set.of())).isEmpty();
+    }
+
+    private UUID createEntry(String name, FinancialLogApi.Reference reference) {
+        return financialLogApplicationService.createManualLog(new FinancialLogApi.CreateFinancialLogRequest(
+                FinancialLogApi.Category.TOURS_AND_TRAVEL,
+                name,
+                LocalDate.of(2031, 8, 1),
+                Money.of("10.00", CurrencyCode.AED),
+                FinancialLogApi.Status.ACCEPTED,
+                reference,
+                Set.of(),
+                null)).uuid();
+    }
+}
@@ -0,0 +1,107 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.PostgresTestDatabase;
+import codeyourbrand.javainterview.common.model.CurrencyCode;
+import codeyourbrand.javainterview.common.model.Money;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApi;
+import codeyourbrand.javainterview.financiallog.application.FinancialLogApplicationService;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("local")
+class FinancialLogReportQueryTest {
+    private static final RecursiveComparisonConfiguration AMOUNTS_BY_VALUE = RecursiveComparisonConfiguration.builder()
+            .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+            .build();
+
+    @Autowired
+    private FinancialLogApplicationService financialLogApplicationService;
+
+    @Autowired
+    private FinancialLogReportQuery financialLogReportQuery;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    /**
+     * Groups by category and currency and by settle month, plus the grand total. One entry has no currency, like rows
+     * written before the column was filled, and its group keeps the currency dimension with a {@code null} value.
+     */
+    @Test
+    void reportsEveryGroupingAndTellsMissingValueFromSubtotal() {
+        String marker = "report-" + UUID.randomUUID();
+        createEntry(marker, FinancialLogApi.Category.OPERATIONS, LocalDate.of(2031, 9, 5), "100.00");
+        UUID withoutCurrency =
+                createEntry(marker, FinancialLogApi.Category.OPERATIONS, LocalDate.of(2031, 9, 20), "-30.00");
+        createEntry(marker, FinancialLogApi.Category.EMPLOYEES, LocalDate.of(2031, 10, 1), "-50.00");
+        jdbcTemplate.update(
+                "UPDATE financial_log.financial_log_entry SET currency = NULL WHERE uuid = ?", withoutCurrency);
+
+        var filters = new FinancialLogApi.GetFinancialLogFiltersRequest();
+        filters.setName(marker);
+        var rows = financialLogReportQuery.report(new FinancialLogApi.FinancialLogReportRequest(
+                filters,
+                List.of(
+                        Set.of(FinancialLogApi.ReportDimension.CATEGORY, FinancialLogApi.ReportDimension.CURRENCY),
+                        Set.of(FinancialLogApi.ReportDimension.SETTLE_MONTH),
+                        Set.of())));
+
+        var byCategoryAndCurrency =
+                Set.of(FinancialLogApi.ReportDimension.CATEGORY, FinancialLogApi.ReportDimension.CURRENCY);
+        var bySettleMonth = Set.of(FinancialLogApi.ReportDimension.SETTLE_MONTH);
+        assertThat(rows).usingRecursiveFieldByFieldElementComparator(AMOUNTS_BY_VALUE).containsExactlyInAnyOrder(
+                row(byCategoryAndCurrency, FinancialLogApi.Category.OPERATIONS, null, CurrencyCode.AED, "100", "0", 1),
+                row(byCategoryAndCurrency, FinancialLogApi.Category.OPERATIONS, null, null, "0", "-30", 1),
+                row(byCategoryAndCurrency, FinancialLogApi.Category.EMPLOYEES, null, CurrencyCode.AED, "0", "-50", 1),
+                row(bySettleMonth, null, YearMonth.of(2031, 9), null, "100", "-30", 2),
+                row(bySettleMonth, null, YearMonth.of(2031, 10), null, "0", "-50", 1),
+                row(Set.of(), null, null, null, "100", "-80", 3));
+    }
+
+    private static FinancialLogApi.FinancialLogReportRow row(
+            Set<FinancialLogApi.ReportDimension> grouping,
+            FinancialLogApi.Category category,
+            YearMonth settleMonth,
+            CurrencyCode currency,
+            String income,
+            String cost,
+            long count) {
+        return new FinancialLogApi.FinancialLogReportRow(
+                grouping,
+                category,
+                null,
+                null,
+                settleMonth,
+                currency,
+                new BigDecimal(income),
+                new BigDecimal(cost),
+                new BigDecimal(income).add(new BigDecimal(cost)),
+                count);
+    }
+
+    private UUID createEntry(String name, FinancialLogApi.Category category, LocalDate settleDate, String amount) {
+        return financialLogApplicationService.createManualLog(new FinancialLogApi.CreateFinancialLogRequest(
+                category, name, settleDate, Money.of(amount, CurrencyCode.AED), null, Set.of(), null)).uuid();
+    }
+}
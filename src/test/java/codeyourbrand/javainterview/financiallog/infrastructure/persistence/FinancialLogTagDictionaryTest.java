@@ -0,0 +1,82 @@
+package codeyourbrand.javainterview.financiallog.infrastructure.persistence;
+
+import codeyourbrand.javainterview.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("local")
+class FinancialLogTagDictionaryTest {
+    @Autowired
+    private FinancialLogTagDictionary financialLogTagDictionary;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void encodeRegistersNamesOnceTheTransactionCommits() {
+        List<String> names = List.of("tag-" + UUID.randomUUID(), "tag-" + UUID.randomUUID());
+
+        int[] ids = transactionTemplate.execute(status -> {
+            int[] encoded = financialLogTagDictionary.encode(names);
+            // read from the table within the transaction, not from the shared maps
+            assertThat(financialLogTagDictionary.lookup(names)).isEqualTo(encoded);
+            assertThat(financialLogTagDictionary.encode(names)).isEqualTo(encoded);
+            return encoded;
+        });
+
+        assertThat(ids).hasSize(2);
+        assertThat(financialLogTagDictionary.lookup(names)).isEqualTo(ids);
+        assertThat(financialLogTagDictionary.decode(ids)).isEqualTo(Set.copyOf(names));
+    }
+
+    @Test
+    void encodeForgetsNamesOfRolledBackTransaction() {
+        List<String> names = List.of("tag-" + UUID.randomUUID());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            financialLogTagDictionary.encode(names);
+            status.setRollbackOnly();
+        });
+
+        assertThat(financialLogTagDictionary.lookup(names)).isEmpty();
+        int[] ids = financialLogTagDictionary.encode(names);
+        assertThat(financialLogTagDictionary.decode(ids)).isEqualTo(Set.copyOf(names));
+    }
+
+    /**
+     * Stands in for another application instance registering names after this one loaded the dictionary.
+     */
+    @Test
+    void lookupFindsNamesRegisteredByAnotherInstance() {
+        FinancialLogTagDictionary other = new FinancialLogTagDictionary(jdbcTemplate);
+        other.load();
+        String registered = "tag-" + UUID.randomUUID();
+        String unknown = "tag-" + UUID.randomUUID();
+        int[] ids = other.encode(List.of(registered));
+
+        assertThat(financialLogTagDictionary.lookup(List.of(registered, unknown))).isEqualTo(ids);
+        assertThat(financialLogTagDictionary.decode(ids)).containsExactly(registered);
+        assertThat(financialLogTagDictionary.encode(List.of(registered))).isEqualTo(ids);
+    }
+}
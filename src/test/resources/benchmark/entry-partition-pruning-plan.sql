@@ -0,0 +1,58 @@
+-- Compares a settle date bounded query on an unpartitioned copy of financial_log_entry against a copy partitioned by
+-- month of settle_date like the real table.
+-- Builds throw-away tables with 2M rows spread over four years, then explains the totals query of one month with
+-- literals, which prunes at planning, and as a generic prepared statement, which prunes when execution starts.
+-- Run with psql against a scratch database: psql -f entry-partition-pruning-plan.sql
+
+DROP SCHEMA IF EXISTS financial_log_bench CASCADE;
+CREATE SCHEMA financial_log_bench;
+
+CREATE TABLE financial_log_bench.entry_unpartitioned AS
+SELECT gen_random_uuid() AS uuid,
+       DATE '2022-01-01' + (i % 1461) AS settle_date,
+       round((random() * 2000 - 1000)::numeric, 2) AS aed_amount
+FROM generate_series(1, 2000000) AS i;
+CREATE INDEX ON financial_log_bench.entry_unpartitioned (settle_date);
+
+CREATE TABLE financial_log_bench.entry_partitioned
+(
+    LIKE financial_log_bench.entry_unpartitioned
+) PARTITION BY RANGE (settle_date);
+
+SELECT format('CREATE TABLE financial_log_bench.entry_%s PARTITION OF financial_log_bench.entry_partitioned'
+                  || ' FOR VALUES FROM (%L) TO (%L)',
+              to_char(month, 'YYYY_MM'), month::date, (month + INTERVAL '1 month')::date)
+FROM generate_series(DATE '2022-01-01', DATE '2025-12-01', INTERVAL '1 month') AS month
+\gexec
+
+INSERT INTO financial_log_bench.entry_partitioned
+SELECT * FROM financial_log_bench.entry_unpartitioned;
+CREATE INDEX ON financial_log_bench.entry_partitioned (settle_date);
+
+ANALYZE financial_log_bench.entry_unpartitioned;
+ANALYZE financial_log_bench.entry_partitioned;
+
+-- Before: the month is read through the index of the whole table
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT sum(aed_amount), count(*)
+FROM financial_log_bench.entry_unpartitioned
+WHERE settle_date >= DATE '2024-06-01' AND settle_date <= DATE '2024-06-30';
+
+-- After: only the partition of June 2024 is planned, and read sequentially
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT sum(aed_amount), count(*)
+FROM financial_log_bench.entry_partitioned
+WHERE settle_date >= DATE '2024-06-01' AND settle_date <= DATE '2024-06-30';
+
+-- After, as the generic plan of a prepared statement: "Subplans Removed" are the partitions pruned at execution start
+PREPARE month_totals(date, date) AS
+SELECT sum(aed_amount), count(*)
+FROM financial_log_bench.entry_partitioned
+WHERE settle_date >= $1 AND settle_date <= $2;
+SET plan_cache_mode = force_generic_plan;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+EXECUTE month_totals(DATE '2024-06-01', DATE '2024-06-30');
+RESET plan_cache_mode;
+DEALLOCATE month_totals;
+
+DROP SCHEMA financial_log_bench CASCADE;
@@ -0,0 +1,81 @@
+-- Compares the size of financial_log_history records in the hot table layout against the same records compacted
+-- into the financial_log_history_archive layout, one row of per-field arrays per entry.
+-- Builds throw-away copies with 100k entries of 10 history records each, then reports table, index and total sizes
+-- and the cost of reading one entry's history from each layout.
+-- Run with psql against a scratch database: psql -f history-archive-size.sql
+
+DROP SCHEMA IF EXISTS financial_log_bench CASCADE;
+CREATE SCHEMA financial_log_bench;
+
+CREATE TABLE financial_log_bench.history AS
+SELECT gen_random_uuid()                                         AS uuid,
+       e.financial_log_uuid,
+       TIMESTAMP '2024-01-01' + (e.i * 10 + r) * INTERVAL '1 minute' AS created_at,
+       'user' || (e.i % 50) || '@example.com'                      AS created_by,
+       'Entry ' || e.i                                             AS financial_log_name,
+       DATE '2024-01-01' + (e.i % 365)                             AS settle_date,
+       'Price correction'                                          AS action,
+       'ACCEPTED'                                                  AS status,
+       ARRAY [e.i % 200, 200 + e.i % 100]                          AS tag_ids,
+       CASE WHEN r % 3 = 0 THEN 'Adjusted after supplier invoice' END AS notes,
+       round((random() * 1000)::numeric, 2)                        AS original_amount,
+       'EUR'                                                       AS original_currency,
+       round((random() * 4000)::numeric, 2)                        AS converted_amount,
+       'AED'                                                       AS converted_currency,
+       'TOURS_AND_TRAVEL'                                          AS category,
+       'order-' || e.i                                             AS reference_id,
+       'PACKAGE_HOLIDAY'                                           AS reference_type,
+       'PH-' || e.i                                                AS reference_business_id
+FROM (SELECT i, gen_random_uuid() AS financial_log_uuid FROM generate_series(1, 100000) AS i) AS e
+         CROSS JOIN generate_series(1, 10) AS r;
+ALTER TABLE financial_log_bench.history ADD PRIMARY KEY (uuid);
+CREATE INDEX ON financial_log_bench.history (financial_log_uuid, created_at);
+CREATE INDEX ON financial_log_bench.history (created_at);
+
+CREATE TABLE financial_log_bench.history_archive AS
+SELECT financial_log_uuid,
+       array_agg(created_at ORDER BY created_at)            AS created_at,
+       array_agg(created_by ORDER BY created_at)            AS created_by,
+       array_agg(financial_log_name ORDER BY created_at)    AS financial_log_name,
+       array_agg(settle_date ORDER BY created_at)           AS settle_date,
+       array_agg(action ORDER BY created_at)                AS action,
+       array_agg(status ORDER BY created_at)                AS status,
+       array_agg(tag_ids::text ORDER BY created_at)         AS tag_ids,
+       array_agg(notes ORDER BY created_at)                 AS notes,
+       array_agg(original_amount ORDER BY created_at)       AS original_amount,
+       array_agg(original_currency ORDER BY created_at)     AS original_currency,
+       array_agg(converted_amount ORDER BY created_at)      AS converted_amount,
+       array_agg(category ORDER BY created_at)              AS category,
+       array_agg(reference_id ORDER BY created_at)          AS reference_id,
+       array_agg(reference_type ORDER BY created_at)        AS reference_type,
+       array_agg(reference_business_id ORDER BY created_at) AS reference_business_id
+FROM financial_log_bench.history
+GROUP BY financial_log_uuid;
+ALTER TABLE financial_log_bench.history_archive ADD PRIMARY KEY (financial_log_uuid);
+
+VACUUM ANALYZE financial_log_bench.history;
+VACUUM ANALYZE financial_log_bench.history_archive;
+
+SELECT relname,
+       pg_size_pretty(pg_table_size(oid))          AS table_size,
+       pg_size_pretty(pg_indexes_size(oid))        AS indexes_size,
+       pg_size_pretty(pg_total_relation_size(oid)) AS total_size
+FROM pg_class
+WHERE oid IN ('financial_log_bench.history'::regclass, 'financial_log_bench.history_archive'::regclass);
+
+-- Reading one entry's history: hot layout
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT created_at, created_by, action
+FROM financial_log_bench.history
+WHERE financial_log_uuid = (SELECT financial_log_uuid FROM financial_log_bench.history_archive LIMIT 1)
+ORDER BY created_at DESC;
+
+-- Reading one entry's history: archive layout, unnested back into records
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT r.created_at, r.created_by, r.action
+FROM financial_log_bench.history_archive a
+         CROSS JOIN LATERAL unnest(a.created_at, a.created_by, a.action) AS r(created_at, created_by, action)
+WHERE a.financial_log_uuid = (SELECT financial_log_uuid FROM financial_log_bench.history_archive LIMIT 1)
+ORDER BY r.created_at DESC;
+
+DROP SCHEMA financial_log_bench CASCADE;
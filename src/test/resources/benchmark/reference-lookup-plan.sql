@@ -0,0 +1,48 @@
+-- Compares the plans of looking up financial_log_entry rows by 500 references.
+-- Builds a throw-away copy of the reference columns with 1M rows, a third of them without a reference, then explains
+-- the former OR of per-reference comparisons against the unnest join FinancialLogReferenceLookup generates.
+-- Run with psql against a scratch database: psql -f reference-lookup-plan.sql
+
+DROP SCHEMA IF EXISTS financial_log_bench CASCADE;
+CREATE SCHEMA financial_log_bench;
+
+CREATE TABLE financial_log_bench.financial_log_entry AS
+SELECT gen_random_uuid() AS uuid,
+       CASE WHEN i % 3 <> 0 THEN 'order-' || i / 3 END AS reference_id,
+       CASE WHEN i % 3 <> 0 THEN (ARRAY ['ATTRACTION', 'TOUR'])[1 + i % 2] END AS reference_type,
+       CASE WHEN i % 3 <> 0 THEN 'ORD-' || i / 3 END AS reference_business_id
+FROM generate_series(1, 1000000) AS i;
+
+ANALYZE financial_log_bench.financial_log_entry;
+
+CREATE TABLE financial_log_bench.lookup AS
+SELECT 'order-' || n AS reference_id,
+       (ARRAY ['ATTRACTION', 'TOUR'])[1 + (3 * n + 1) % 2] AS reference_type,
+       'ORD-' || n AS reference_business_id
+FROM generate_series(1000, 300000, 600) AS n;
+
+-- Before: an OR of (id, type, business id) comparisons, one per reference, without an index on the reference
+SELECT format(
+        'EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT * FROM financial_log_bench.financial_log_entry WHERE %s',
+        string_agg(format('(reference_id = %L AND reference_type = %L AND reference_business_id = %L)',
+                          reference_id, reference_type, reference_business_id), ' OR '))
+FROM financial_log_bench.lookup
+\gexec
+
+CREATE INDEX idx_financial_log_entry_reference ON financial_log_bench.financial_log_entry (reference_id, reference_type)
+    WHERE reference_id IS NOT NULL;
+ANALYZE financial_log_bench.financial_log_entry;
+
+-- After: the references as parallel arrays, joined through the composite index
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT e.*
+FROM unnest((SELECT array_agg(reference_id) FROM financial_log_bench.lookup),
+            (SELECT array_agg(reference_type) FROM financial_log_bench.lookup),
+            (SELECT array_agg(reference_business_id) FROM financial_log_bench.lookup))
+        AS r(reference_id, reference_type, reference_business_id)
+JOIN financial_log_bench.financial_log_entry e
+    ON e.reference_id = r.reference_id
+        AND e.reference_type = r.reference_type
+        AND e.reference_business_id IS NOT DISTINCT FROM r.reference_business_id;
+
+DROP SCHEMA financial_log_bench CASCADE;
@@ -0,0 +1,47 @@
+-- Compares a report with several groupings computed by one query per grouping against the single GROUPING SETS query
+-- FinancialLogReportQuery generates now.
+-- Builds a throw-away copy of the table with 1M rows, then explains both forms for the groupings
+-- (category, settle month), (source, status) and the grand total.
+-- Run with psql against a scratch database: psql -f report-grouping-sets-plan.sql
+
+DROP SCHEMA IF EXISTS financial_log_bench CASCADE;
+CREATE SCHEMA financial_log_bench;
+
+CREATE TABLE financial_log_bench.financial_log_entry AS
+SELECT gen_random_uuid() AS uuid,
+       (ARRAY ['EMPLOYEES', 'HOLIDAY_HOMES', 'TOURS_AND_TRAVEL', 'OPERATIONS'])[1 + i % 4] AS category,
+       (ARRAY ['MANUAL', 'SYSTEM'])[1 + i % 2] AS source,
+       (ARRAY ['DRAFT', 'ACCEPTED'])[1 + i % 3 / 2] AS status,
+       DATE '2024-01-01' + (i % 730) AS settle_date,
+       round((random() * 2000 - 1000)::numeric, 2) AS aed_amount
+FROM generate_series(1, 1000000) AS i;
+
+ANALYZE financial_log_bench.financial_log_entry;
+
+-- Before: one query, and one scan of the filtered entries, per grouping
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT category, date_trunc('month', settle_date), sum(aed_amount), count(*)
+FROM financial_log_bench.financial_log_entry
+WHERE settle_date >= DATE '2024-06-01'
+GROUP BY category, date_trunc('month', settle_date);
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT source, status, sum(aed_amount), count(*)
+FROM financial_log_bench.financial_log_entry
+WHERE settle_date >= DATE '2024-06-01'
+GROUP BY source, status;
+
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT sum(aed_amount), count(*)
+FROM financial_log_bench.financial_log_entry
+WHERE settle_date >= DATE '2024-06-01';
+
+-- After: a single scan feeding a MixedAggregate that computes every grouping set
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT grouping(category, source, status, date_trunc('month', settle_date)),
+       category, source, status, date_trunc('month', settle_date), sum(aed_amount), count(*)
+FROM financial_log_bench.financial_log_entry
+WHERE settle_date >= DATE '2024-06-01'
+GROUP BY GROUPING SETS ((category, date_trunc('month', settle_date)), (source, status), ());
+
+DROP SCHEMA financial_log_bench CASCADE;
@@ -0,0 +1,70 @@
+-- Compares the plans of tag filters on financial_log_entry.tags.
+-- Builds a throw-away copy of the table with 1M rows, 200 distinct tags and 0-4 tags per row, then explains the
+-- former jsonb_exists OR chain against the containment predicates FinancialLogEntrySpecification generates now.
+-- Run with psql against a scratch database: psql -f tag-filter-plan.sql
+
+DROP SCHEMA IF EXISTS financial_log_bench CASCADE;
+CREATE SCHEMA financial_log_bench;
+
+CREATE TABLE financial_log_bench.financial_log_entry AS
+SELECT gen_random_uuid() AS uuid,
+       (SELECT coalesce(jsonb_agg(DISTINCT 'tag-' || (random() * 199)::int), '[]'::jsonb)
+        FROM generate_series(1, i % 5) AS t) AS tags
+FROM generate_series(1, 1000000) AS i;
+
+CREATE INDEX ON financial_log_bench.financial_log_entry USING GIN (tags);
+ANALYZE financial_log_bench.financial_log_entry;
+
+-- Before: OR chain of jsonb_exists calls, the function form is not served by the GIN index
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM financial_log_bench.financial_log_entry
+WHERE jsonb_exists(tags, 'tag-7') OR jsonb_exists(tags, 'tag-42');
+
+-- After, TagMatch.ANY: one containment check per tag, combined with a BitmapOr
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM financial_log_bench.financial_log_entry
+WHERE (tags @> '["tag-7"]'::jsonb) OR (tags @> '["tag-42"]'::jsonb);
+
+-- After, TagMatch.ALL: a single containment check
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM financial_log_bench.financial_log_entry
+WHERE tags @> '["tag-7", "tag-42"]'::jsonb;
+
+-- After, ANY with an excluded tag: the exclusion is a recheck filter on the rows the index found
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM financial_log_bench.financial_log_entry
+WHERE ((tags @> '["tag-7"]'::jsonb) OR (tags @> '["tag-42"]'::jsonb))
+  AND NOT (tags @> '["tag-99"]'::jsonb);
+
+-- Dictionary-encoded tags: the same rows with the tags as sorted integer arrays, ids taken from the tag number
+CREATE TABLE financial_log_bench.financial_log_entry_ids AS
+SELECT uuid,
+       ARRAY(SELECT substr(t, 5)::int + 1 FROM jsonb_array_elements_text(tags) AS t ORDER BY 1) AS tag_ids
+FROM financial_log_bench.financial_log_entry;
+
+CREATE INDEX tag_ids_gin ON financial_log_bench.financial_log_entry_ids USING GIN (tag_ids);
+ANALYZE financial_log_bench.financial_log_entry_ids;
+
+-- Column and index sizes of both representations
+SELECT (SELECT sum(pg_column_size(tags)) FROM financial_log_bench.financial_log_entry) AS tags_bytes,
+       (SELECT sum(pg_column_size(tag_ids)) FROM financial_log_bench.financial_log_entry_ids) AS tag_ids_bytes,
+       pg_size_pretty(pg_relation_size('financial_log_bench.financial_log_entry_tags_idx')) AS tags_index,
+       pg_size_pretty(pg_relation_size('financial_log_bench.tag_ids_gin')) AS tag_ids_index;
+
+-- Dictionary ids, TagMatch.ANY: one overlap check
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM financial_log_bench.financial_log_entry_ids
+WHERE tag_ids && '{8,43}'::int[];
+
+-- Dictionary ids, TagMatch.ALL
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM financial_log_bench.financial_log_entry_ids
+WHERE tag_ids @> '{8,43}'::int[];
+
+-- Dictionary ids, ANY with an excluded tag
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM financial_log_bench.financial_log_entry_ids
+WHERE tag_ids && '{8,43}'::int[]
+  AND NOT (tag_ids && '{100}'::int[]);
+
+DROP SCHEMA financial_log_bench CASCADE;
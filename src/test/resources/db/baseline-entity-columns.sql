@@ -0,0 +1,10 @@
+-- Columns the baseline entities map but create-financial-log-schema.sql does not create. Existing databases have
+-- them, so the test database adds them right after the schema, before the migrations that copy or read them.
+ALTER TABLE financial_log.financial_log_entry
+    ADD COLUMN IF NOT EXISTS reference_business_id VARCHAR(255);
+
+ALTER TABLE financial_log.financial_log_history
+    ADD COLUMN IF NOT EXISTS category              VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS reference_id          VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS reference_type        VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS reference_business_id VARCHAR(255);